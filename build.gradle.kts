@@ -7,6 +7,7 @@ plugins {
     `java-library`
     id("de.chojo.publishdata") version "1.4.0"
     alias(libs.plugins.spotless)
+    alias(libs.plugins.jmh)
     id("com.vanniktech.maven.publish") version "0.36.0"
 }
 
@@ -48,6 +49,22 @@ dependencies {
     testImplementation("tools.jackson.dataformat", "jackson-dataformat-yaml")
     testImplementation("tools.jackson.dataformat", "jackson-dataformat-toml")
     testImplementation("de.eldoria.jacksonbukkit", "paper", "2.0.0")
+
+    jmhAnnotationProcessor(sourceSets.main.get().output)
+    jmhImplementation("org.slf4j", "slf4j-nop", "2.0.17")
+    jmhImplementation("tools.jackson.dataformat", "jackson-dataformat-yaml")
+    jmhImplementation("tools.jackson.dataformat", "jackson-dataformat-toml")
+}
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // Results are written to build/results/jmh/results.json and can be compared between runs.
+    resultFormat = "JSON"
+    // Allows running a subset, e.g. ./gradlew jmh -Pjmh.includes=LoadBenchmark
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
 }
 
 spotless {
@@ -23,6 +23,7 @@ dependencyResolutionManagement {
             // plugins
             plugin("spotless", "com.diffplug.spotless").version("7.2.1")
             plugin("shadow", "com.github.johnrengelman.shadow").version("8.1.1")
+            plugin("jmh", "me.champeau.jmh").version("0.7.3")
 
             version("slf4j", "2.0.17")
             library("slf4j-api", "org.slf4j", "slf4j-api").versionRef("slf4j")
@@ -0,0 +1,57 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.Configurations;
+import dev.chojo.ocular.dataformats.JsonDataFormat;
+import dev.chojo.ocular.dataformats.TomlDataFormat;
+import dev.chojo.ocular.dataformats.YamlDataFormat;
+import dev.chojo.ocular.key.Key;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+/**
+ * Creates configurations in a temporary directory.
+ */
+final class Fixture {
+    private Fixture() {
+    }
+
+    static Path directory() {
+        try {
+            return Files.createTempDirectory("ocular-jmh");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Key<Sample> key(String format, Size size) {
+        return Key.builder(Path.of("sample-" + size.name().toLowerCase() + "." + format), size::create).build();
+    }
+
+    static Configurations<Sample> configurations(Path base, Key<Sample> main) {
+        return Configurations.builder(main, new JsonDataFormat())
+                             .addFormat(new YamlDataFormat())
+                             .addFormat(new TomlDataFormat())
+                             .setBase(base)
+                             .build();
+    }
+
+    static void delete(Path directory) {
+        try (var walker = Files.walk(directory)) {
+            walker.map(Path::toFile)
+                  .sorted(Comparator.reverseOrder())
+                  .forEachOrdered(File::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.components.Format;
+import dev.chojo.ocular.components.FormatIndex;
+import dev.chojo.ocular.dataformats.JsonDataFormat;
+import dev.chojo.ocular.dataformats.TomlDataFormat;
+import dev.chojo.ocular.dataformats.YamlDataFormat;
+import dev.chojo.ocular.key.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the format of a key, as done on every load, save, replace and migrate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormatBenchmark {
+    @Param({"json", "yml", "toml"})
+    public String format;
+    private FormatIndex index;
+    private Key<Sample> key;
+
+    @Setup
+    public void setup() {
+        index = new FormatIndex(List.of(new Format<>(new JsonDataFormat(), null),
+                new Format<>(new YamlDataFormat(), null),
+                new Format<>(new TomlDataFormat(), null)));
+        key = Fixture.key(format, Size.SMALL);
+    }
+
+    @Benchmark
+    public Format<?, ?> determineFormat() {
+        return index.find(key);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.Configurations;
+import dev.chojo.ocular.key.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading, writing and reloading files per data format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoadBenchmark {
+    @Param({"json", "yaml", "toml"})
+    public String format;
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Size size;
+    private Path base;
+    private Key<Sample> key;
+    private Configurations<Sample> configurations;
+    private long revision;
+
+    @Setup
+    public void setup() {
+        base = Fixture.directory();
+        key = Fixture.key(format, size);
+        configurations = Fixture.configurations(base, key);
+        configurations.main();
+        configurations.save();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Fixture.delete(base);
+    }
+
+    /**
+     * Reading and parsing the file, including the application of overrides.
+     */
+    @Benchmark
+    public Sample load() {
+        configurations.forceReload(key);
+        return configurations.main();
+    }
+
+    /**
+     * Saving a modified configuration.
+     */
+    @Benchmark
+    public boolean save() {
+        configurations.main().revision = ++revision;
+        return configurations.saveIfChanged(key);
+    }
+
+    /**
+     * Saving a configuration that did not change, which is skipped after serializing it.
+     */
+    @Benchmark
+    public boolean saveUnchanged() {
+        return configurations.saveIfChanged(key);
+    }
+
+    /**
+     * Checking files that did not change on disk.
+     */
+    @Benchmark
+    public Set<Key<?>> reloadUnchanged() {
+        return configurations.reloadIfChanged();
+    }
+
+    /**
+     * Reloading a file whose content changed on disk.
+     */
+    @Benchmark
+    public Set<Key<?>> reloadModified(Modified modified) {
+        return configurations.reloadIfChanged();
+    }
+
+    /**
+     * Writes a new revision of the file before each invocation, so every reload reads and applies a changed file.
+     * The file is written by a second instance, which the benchmarked instance sees as an external edit.
+     */
+    @State(Scope.Thread)
+    public static class Modified {
+        private Configurations<Sample> writer;
+        private Key<Sample> key;
+        private long revision;
+
+        @Setup
+        public void setup(LoadBenchmark benchmark) {
+            key = benchmark.key;
+            writer = Fixture.configurations(benchmark.base, key);
+            writer.main();
+        }
+
+        @Setup(Level.Invocation)
+        public void modify() {
+            writer.main().revision = ++revision;
+            writer.saveIfChanged(key);
+        }
+    }
+}
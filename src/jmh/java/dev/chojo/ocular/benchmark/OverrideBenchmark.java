@@ -0,0 +1,79 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.override.OverrideApplier;
+import dev.chojo.ocular.override.OverrideSuppliers;
+import dev.chojo.ocular.override.ValueSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application of overrides to loaded configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OverrideBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Size size;
+    private Sample sample;
+    private ValueSupplier supplier;
+    private OverrideSuppliers suppliers;
+
+    @Setup
+    public void setup() {
+        System.setProperty("bench.port", "9090");
+        System.setProperty("bench.section.limit", "250");
+        sample = size.create();
+        suppliers = new OverrideSuppliers(getClass().getClassLoader());
+        supplier = suppliers.supplier(Sample.class).orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty("bench.port");
+        System.clearProperty("bench.section.limit");
+    }
+
+    /**
+     * Applying the overrides of the root object only.
+     */
+    @Benchmark
+    public Sample applyOverrides() {
+        OverrideApplier.applyOverrides(sample, supplier);
+        return sample;
+    }
+
+    /**
+     * Applying the overrides of the root object and all nested sections. The suppliers are cached after the first
+     * invocation, so this measures the application only.
+     */
+    @Benchmark
+    public Sample applyNestedOverrides() {
+        suppliers.applyOverrides(sample, Sample.class);
+        return sample;
+    }
+
+    /**
+     * Applying the overrides of the root object and all nested sections with a new lookup, including the resolution
+     * and creation of the suppliers. This is the cost of the first load of a configuration class.
+     */
+    @Benchmark
+    public Sample applyNestedOverridesCold() {
+        new OverrideSuppliers(getClass().getClassLoader()).applyOverrides(sample, Sample.class);
+        return sample;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.Configurations;
+import dev.chojo.ocular.key.Key;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access to already loaded configurations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReadBenchmark {
+    @Param({"SMALL", "LARGE"})
+    public Size size;
+    private Path base;
+    private Key<Sample> key;
+    private Configurations<Sample> configurations;
+
+    @Setup
+    public void setup() {
+        base = Fixture.directory();
+        key = Fixture.key("json", size);
+        configurations = Fixture.configurations(base, key);
+        configurations.main();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Fixture.delete(base);
+    }
+
+    @Benchmark
+    public Sample secondary() {
+        return configurations.secondary(key);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Sample secondaryContended() {
+        return configurations.secondary(key);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+import dev.chojo.ocular.override.Overwrite;
+import dev.chojo.ocular.override.Prop;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration used by the benchmarks. Its size is controlled by the number of sections and values.
+ */
+public class Sample {
+    @Overwrite(prop = @Prop("bench.name"))
+    public String name = "ocular";
+    @Overwrite(prop = @Prop("bench.port"))
+    public int port = 8080;
+    @Overwrite(prop = @Prop("bench.enabled"))
+    public boolean enabled = true;
+    public long revision = 0;
+    public List<Section> sections = new ArrayList<>();
+    public Map<String, String> values = new LinkedHashMap<>();
+
+    public Sample() {
+    }
+
+    /**
+     * Creates a sample of the given size.
+     *
+     * @param sections number of nested sections
+     * @param values   number of plain values
+     */
+    public Sample(int sections, int values) {
+        for (int i = 0; i < sections; i++) {
+            this.sections.add(new Section("section-" + i, i));
+        }
+        for (int i = 0; i < values; i++) {
+            this.values.put("key-" + i, "value-" + i);
+        }
+    }
+
+    public static class Section {
+        @Overwrite(prop = @Prop("bench.section.limit"))
+        public int limit = 100;
+        @Overwrite(prop = @Prop("bench.section.timeout"))
+        public long timeout = 30_000;
+        public String label;
+        public int index;
+        public List<String> tags = new ArrayList<>();
+
+        public Section() {
+        }
+
+        public Section(String label, int index) {
+            this.label = label;
+            this.index = index;
+            this.tags.addAll(List.of("alpha", "beta", "gamma"));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.benchmark;
+
+/**
+ * Sizes of the benchmarked configurations.
+ */
+public enum Size {
+    SMALL(1, 10),
+    MEDIUM(50, 500),
+    LARGE(2_000, 20_000);
+
+    private final int sections;
+    private final int values;
+
+    Size(int sections, int values) {
+        this.sections = sections;
+        this.values = values;
+    }
+
+    public Sample create() {
+        return new Sample(sections, values);
+    }
+}
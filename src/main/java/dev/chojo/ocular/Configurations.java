@@ -8,38 +8,68 @@ package dev.chojo.ocular;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import dev.chojo.ocular.components.FileWrapper;
 import dev.chojo.ocular.components.Format;
+import dev.chojo.ocular.components.FormatIndex;
+import dev.chojo.ocular.components.MapperPool;
 import dev.chojo.ocular.components.Wrapper;
 import dev.chojo.ocular.dataformats.Configurator;
 import dev.chojo.ocular.dataformats.DataFormat;
+import dev.chojo.ocular.dataformats.JsonDataFormat;
 import dev.chojo.ocular.exceptions.ConfigurationException;
 import dev.chojo.ocular.exceptions.UnknownFormatException;
+import dev.chojo.ocular.hooks.ChangeListener;
+import dev.chojo.ocular.hooks.ConfigDiff;
 import dev.chojo.ocular.hooks.ConfigSubscriber;
+import dev.chojo.ocular.io.AtomicFiles;
+import dev.chojo.ocular.io.ContentHash;
+import dev.chojo.ocular.io.Durability;
+import dev.chojo.ocular.io.FileFingerprint;
+import dev.chojo.ocular.io.SaveQueue;
+import dev.chojo.ocular.jfr.Events;
+import dev.chojo.ocular.jfr.FileEvent;
 import dev.chojo.ocular.key.Key;
 import dev.chojo.ocular.locks.KeyLock;
 import dev.chojo.ocular.locks.KeyLocks;
+import dev.chojo.ocular.metrics.ConfigurationListener;
 import dev.chojo.ocular.override.OverrideApplier;
+import dev.chojo.ocular.override.OverrideConverter;
+import dev.chojo.ocular.override.OverrideConverters;
+import dev.chojo.ocular.override.OverrideSource;
+import dev.chojo.ocular.override.OverrideSuppliers;
 import dev.chojo.ocular.override.ValueSupplier;
+import dev.chojo.ocular.watch.ConfigWatcher;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.JacksonModule;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.MapperFeature;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.cfg.MapperBuilder;
 import tools.jackson.databind.introspect.VisibilityChecker;
-import tools.jackson.databind.type.TypeFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -48,29 +78,65 @@ import static org.slf4j.LoggerFactory.getLogger;
  * It facilitates loading, saving, and migrating configuration files using defined keys and formats.
  * This class supports reloading, backing up, and replacing configurations while maintaining
  * thread-safe operations for concurrent access.
+ * <p>
+ * <b>Concurrency:</b> Loaded configurations are kept in a {@link ConcurrentHashMap}. Reading a configuration that
+ * is already loaded via {@link #secondary(Key)}, {@link #main()} or {@link Wrapper#config()} does not acquire any lock.
+ * Only the first load of a key, saves, reloads and {@link #replace(Key, Object)} coordinate with each other.
+ * This coordination happens per key. Concurrent first requests for the same key share a single load, while different
+ * keys are loaded in parallel.
+ * <p>
+ * <b>Memory visibility:</b> A configuration object is published to the map only after it was fully read,
+ * post read hooks were called and overrides were applied. The map guarantees a happens-before relation between
+ * publishing and every later read of the same key, so every thread observes the object in at least that state.
+ * Modifications made to a configuration object after it was published are not synchronized by this class.
+ * Callers mutating a shared configuration object are responsible for their own synchronization.
+ * This applies to {@link #inPlaceReload() in place reloads} as well. They update the published object while other
+ * threads might read it.
  *
  * @param <T> the type of the primary configuration data
  */
 public class Configurations<T> implements Configurator<ObjectMapper, MapperBuilder<ObjectMapper, ?>> {
     private static final DateTimeFormatter DTF = DateTimeFormatter.ofPattern("yyyy-MM-dd_hh-mm");
     private static final Logger log = getLogger(Configurations.class);
+    private static final Executor DEFAULT_EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ocular-", 0).factory());
+    private static final ClassValue<Boolean> OBSERVES_CHANGES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            if (!ConfigSubscriber.class.isAssignableFrom(type)) return false;
+            try {
+                return type.getMethod("onChange", Configurations.class, ConfigDiff.class).getDeclaringClass() != ConfigSubscriber.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
     protected final Configurations<?> parent;
     private final Path base;
     private final Key<T> main;
-    private final List<Format<?, ?>> formats = new LinkedList<>();
+    private final FormatIndex formats;
+    private final Map<Key<?>, Format<?, ?>> resolvedFormats = new ConcurrentHashMap<>();
     private final ClassLoader classLoader;
-    private final Map<Key<?>, FileWrapper<?>> files = new HashMap<>();
+    private final MapperPool mapperPool;
+    private final Map<Key<?>, FileWrapper<?>> files = new ConcurrentHashMap<>();
     private final KeyLocks locks = new KeyLocks();
+    private volatile OverrideSuppliers overrideSuppliers;
+    private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<ConfigurationListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConfigWatcher watcher;
+    private volatile SaveQueue saveQueue;
 
     public Configurations(Path base, @NotNull Key<T> main, List<DataFormat<?, ?>> formats, ClassLoader classLoader, Configurations<?> parent) {
         this.base = base;
         this.main = main;
         this.parent = parent;
+        List<Format<?, ?>> installed = new LinkedList<>();
         for (DataFormat<?, ?> format : formats) {
             format.assertInstalled();
-            this.formats.add(new Format<>(format, this));
+            installed.add(new Format<>(format, this));
         }
+        this.formats = new FormatIndex(installed);
         this.classLoader = classLoader;
+        this.mapperPool = MapperPool.shared(classLoader);
     }
 
     /**
@@ -103,33 +169,106 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
      * Get a configuration file.
      * <p>
      * If this file was not yet created, it will be created.
+     * <p>
+     * Returning an already loaded configuration does not acquire any lock.
      *
      * @param key configuration key
      * @param <V> type of configuration
      * @return configuration file
      */
     @SuppressWarnings("unchecked")
-    public synchronized <V> V secondary(Key<V> key) {
-        // This configuration might be called to retrieve the logging level.
-        // This will cause a recursive call
-
-        if (files.containsKey(key)) {
-            return (V) files.get(key).file();
+    public <V> V secondary(Key<V> key) {
+        FileWrapper<?> loaded = files.get(key);
+        if (loaded != null) {
+            if (!listeners.isEmpty()) report(listener -> listener.onCacheHit(key));
+            return (V) loaded.file();
         }
 
-        KeyLock keyLock = locks.tryLock(key);
-        if (keyLock == null) {
+        // This configuration might be called to retrieve the logging level while it is loaded.
+        // This will cause a recursive call on the thread that is currently loading the key.
+        if (locks.isHeldByCurrentThread(key)) {
             // Very rare keys which so far exists for minecraft plugins when the config is created and the log level is read from it.
             return key.initValue().get();
         }
 
-        try (keyLock) {
+        try (KeyLock keyLock = locks.lock(key)) {
+            // Another thread might have loaded the file while we were waiting for the lock.
+            loaded = files.get(key);
+            if (loaded != null) {
+                if (!listeners.isEmpty()) report(listener -> listener.onCacheHit(key));
+                return (V) loaded.file();
+            }
+            if (!listeners.isEmpty()) report(listener -> listener.onCacheMiss(key));
             FileWrapper<V> v = createAndLoad(key);
             files.put(key, v);
+            track(key);
             return v.file();
         }
     }
 
+    /**
+     * Get a configuration file without blocking the calling thread.
+     * <p>
+     * An already loaded configuration is returned as a completed future. Otherwise, the file is created if needed and
+     * read on the {@link #executor()}.
+     *
+     * @param key configuration key
+     * @param <V> type of configuration
+     * @return a future that completes with the configuration file
+     * @see #secondary(Key)
+     */
+    public <V> CompletableFuture<V> secondaryAsync(Key<V> key) {
+        if (loaded(key)) {
+            return CompletableFuture.completedFuture(secondary(key));
+        }
+        return CompletableFuture.supplyAsync(() -> secondary(key), executor());
+    }
+
+    /**
+     * Loads the given configurations in parallel on the {@link #executor()}.
+     * <p>
+     * Each configuration is created if it does not exist yet, read and has its overrides applied.
+     * Configurations that are already loaded are not read again.
+     *
+     * @param keys keys of the configurations to load
+     * @return a future that completes once every configuration is loaded.
+     * It completes exceptionally if one of the configurations could not be loaded.
+     */
+    public CompletableFuture<Void> preloadAsync(Collection<? extends Key<?>> keys) {
+        Executor executor = executor();
+        CompletableFuture<?>[] loads = keys.stream()
+                                           .distinct()
+                                           .map(key -> CompletableFuture.runAsync(() -> secondary(key), executor))
+                                           .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(loads);
+    }
+
+    /**
+     * Prepares reading and writing the given configurations in parallel on the {@link #executor()}.
+     * <p>
+     * The reader and writer mappers of the formats are built and the deserializers and serializers of the
+     * configuration classes are resolved. No file is read, so the first {@link #secondary(Key)} call only pays for
+     * parsing the file.
+     *
+     * @param keys keys of the configurations to prepare
+     * @return a future that completes once all configurations are prepared
+     */
+    public CompletableFuture<Void> warmUp(Collection<? extends Key<?>> keys) {
+        Executor executor = executor();
+        CompletableFuture<?>[] warmUps = keys.stream()
+                                             .distinct()
+                                             .map(key -> CompletableFuture.runAsync(() -> warmUp(key), executor))
+                                             .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(warmUps);
+    }
+
+    private void warmUp(Key<?> key) {
+        Format<?, ?> format = determineFormat(key);
+        // Readers and writers for a type resolve their deserializer and serializer eagerly.
+        format.reader().readerFor(key.configClazz());
+        format.writer().writerFor(key.configClazz());
+    }
+
     /**
      * Get the primary configuration wrapper.
      * <p>
@@ -192,7 +331,10 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
      * @param <V>      type of key
      */
     public <V> void replace(Key<V> key, V newValue) {
-        files.put(key, new FileWrapper<>(determineFormat(key), newValue));
+        try (KeyLock keyLock = locks.lock(key)) {
+            files.put(key, new FileWrapper<>(determineFormat(key), newValue));
+        }
+        track(key);
     }
 
     /**
@@ -206,12 +348,36 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
      */
     public <V> void migrate(Key<V> key, Key<V> newKey) {
         V loaded = secondary(key);
-        files.put(newKey, new FileWrapper<>(determineFormat(newKey), loaded));
+        replace(newKey, loaded);
         save(newKey);
     }
 
+    /**
+     * Migrates the configuration data from one key to another key on the {@link #executor()}.
+     *
+     * @param <V>    the type of the configuration data being migrated
+     * @param key    the source configuration key containing the data to be migrated
+     * @param newKey the target configuration key to which the data should be migrated
+     * @return a future that completes once the data is migrated. If {@link #writeBehind()} is enabled, it completes
+     * once the scheduled write of the new file is done.
+     * @see #migrate(Key, Key)
+     */
+    public <V> CompletableFuture<Void> migrateAsync(Key<V> key, Key<V> newKey) {
+        if (writeBehind().isPositive()) {
+            return CompletableFuture.runAsync(() -> replace(newKey, secondary(key)), executor())
+                                    .thenCompose(ignored -> saveQueue().schedule(newKey))
+                                    .thenAccept(written -> {});
+        }
+        return CompletableFuture.runAsync(() -> migrate(key, newKey), executor());
+    }
+
     /**
      * Saves all files loaded via this instance.
+     * <p>
+     * Files whose serialized content did not change since they were last read or written are not written again.
+     * If {@link #writeBehind()} is enabled, the files are only scheduled.
+     *
+     * @see #saveIfChanged()
      */
     public void save() {
         for (var configKey : files.keySet()) {
@@ -221,30 +387,398 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
 
     /**
      * Saves the file associated with the config key
+     * <p>
+     * The file is not written if its serialized content did not change since it was last read or written.
+     * <p>
+     * If {@link #writeBehind()} is enabled, the file is written in the background after the window.
+     * Repeated saves within the window result in a single write of the latest state.
      *
      * @param key configuration key
+     * @see #saveIfChanged(Key)
      */
     public void save(Key<?> key) {
-        write(resolvePath(key), files.get(key));
+        if (writeBehind().isPositive()) {
+            saveQueue().schedule(key);
+            return;
+        }
+        saveIfChanged(key);
+    }
+
+    /**
+     * Saves all files loaded via this instance on the calling thread and reports which files were written.
+     * <p>
+     * Unlike {@link #save()} the files are written immediately, even if {@link #writeBehind()} is enabled.
+     *
+     * @return the keys of the files that were written. Files that did not change are skipped.
+     */
+    public Set<Key<?>> saveIfChanged() {
+        Set<Key<?>> written = new HashSet<>();
+        for (var configKey : files.keySet()) {
+            if (saveIfChanged(configKey)) written.add(configKey);
+        }
+        int skipped = files.size() - written.size();
+        if (skipped > 0) {
+            log.debug("Skipped writing {} unchanged configuration files.", skipped);
+        }
+        return written;
+    }
+
+    /**
+     * Saves the file associated with the config key on the calling thread and reports whether it was written.
+     * <p>
+     * Unlike {@link #save(Key)} the file is written immediately, even if {@link #writeBehind()} is enabled.
+     *
+     * @param key configuration key
+     * @return true if the file was written, false if it was skipped because it did not change
+     */
+    public boolean saveIfChanged(Key<?> key) {
+        try (KeyLock keyLock = locks.lock(key)) {
+            // Looked up under the lock, so a reload can not replace the file before it is written.
+            return write(key, files.get(key), false);
+        }
+    }
+
+    /**
+     * Saves the file associated with the config key without blocking the calling thread.
+     * <p>
+     * The file is written on the {@link #executor()}. If {@link #writeBehind()} is enabled, the file is scheduled
+     * instead and the future completes once the scheduled write is done.
+     *
+     * @param key configuration key
+     * @return a future that completes with true if the file was written or false if it did not change
+     * @see #save(Key)
+     */
+    public CompletableFuture<Boolean> saveAsync(Key<?> key) {
+        if (writeBehind().isPositive()) {
+            return saveQueue().schedule(key);
+        }
+        return CompletableFuture.supplyAsync(() -> saveIfChanged(key), executor());
+    }
+
+    /**
+     * Writes all files scheduled via {@link #writeBehind()} immediately and waits for writes that are already running.
+     * <p>
+     * Call this on shutdown, since scheduled writes are lost when the JVM exits.
+     *
+     * @throws ConfigurationException if a file could not be written
+     */
+    public void flush() {
+        SaveQueue queue = saveQueue;
+        if (queue != null) queue.flush();
+    }
+
+    /**
+     * Creates a future that completes once all files scheduled via {@link #writeBehind()} so far are written.
+     *
+     * @return future, which completes exceptionally if a file could not be written
+     */
+    public CompletableFuture<Void> awaitSaved() {
+        SaveQueue queue = saveQueue;
+        if (queue == null) return CompletableFuture.completedFuture(null);
+        return queue.awaitSaved();
+    }
+
+    private SaveQueue saveQueue() {
+        SaveQueue queue = saveQueue;
+        if (queue != null) return queue;
+        synchronized (this) {
+            if (saveQueue == null) {
+                saveQueue = new SaveQueue(writeBehind(), executor(), this::saveIfChanged);
+            }
+            return saveQueue;
+        }
     }
 
     /**
      * Reloads all files loaded via this instance including the main configuration.
+     * <p>
+     * Only files that changed on disk since they were last read or written are parsed again.
+     *
+     * @see #reloadIfChanged()
      */
     public void reload() {
+        reloadIfChanged();
+    }
+
+    /**
+     * Reloads a single file associated with the config key
+     * <p>
+     * The file is only parsed again if it changed on disk since it was last read or written.
+     * Files that are not loaded yet are always loaded.
+     *
+     * @param key configuration key
+     * @see #reloadIfChanged(Key)
+     */
+    public void reload(Key<?> key) {
+        reloadIfChanged(key);
+    }
+
+    /**
+     * Reloads all files that changed on disk and reports which files were reloaded.
+     *
+     * @return the keys of the files that were reloaded
+     * @see #reload()
+     */
+    public Set<Key<?>> reloadIfChanged() {
+        Set<Key<?>> reloaded = new HashSet<>();
         // We will modify the collection. Therefore, we need to copy first.
         for (var key : new HashSet<>(files.keySet())) {
-            reload(key);
+            if (reloadIfChanged(key)) reloaded.add(key);
         }
+        return reloaded;
     }
 
     /**
-     * Reloads a single file associated with the config key
+     * Reloads the file associated with the config key if it changed on disk and reports whether it was reloaded.
+     * <p>
+     * Files that are not loaded yet are always loaded.
      *
      * @param key configuration key
+     * @return true if the file was reloaded, false if it did not change
+     * @see #reload(Key)
      */
-    public void reload(Key<?> key) {
-        files.put(key, createAndLoad(key));
+    public boolean reloadIfChanged(Key<?> key) {
+        return reload(key, false);
+    }
+
+    /**
+     * Reloads all changed files on the {@link #executor()}.
+     *
+     * @return a future that completes with the keys of the files that were reloaded
+     * @see #reloadIfChanged()
+     */
+    public CompletableFuture<Set<Key<?>>> reloadAsync() {
+        return CompletableFuture.supplyAsync(this::reloadIfChanged, executor());
+    }
+
+    /**
+     * Reloads the file of the key on the {@link #executor()} if it changed on disk.
+     *
+     * @param key configuration key
+     * @return a future that completes with true if the file was reloaded
+     * @see #reloadIfChanged(Key)
+     */
+    public CompletableFuture<Boolean> reloadAsync(Key<?> key) {
+        return CompletableFuture.supplyAsync(() -> reloadIfChanged(key), executor());
+    }
+
+    /**
+     * Reloads all files loaded via this instance including the main configuration,
+     * regardless of whether they changed on disk.
+     */
+    public void forceReload() {
+        for (var key : new HashSet<>(files.keySet())) {
+            forceReload(key);
+        }
+    }
+
+    /**
+     * Reloads a single file associated with the config key, regardless of whether it changed on disk.
+     *
+     * @param key configuration key
+     */
+    public void forceReload(Key<?> key) {
+        reload(key, true);
+    }
+
+    private boolean reload(Key<?> key, boolean force) {
+        JsonNode before;
+        FileWrapper<?> reloaded;
+        FileEvent event = Events.reload();
+        try (KeyLock keyLock = locks.lock(key)) {
+            FileWrapper<?> current = files.get(key);
+            if (!force && current != null && !changed(resolvePath(key), current)) {
+                log.trace("Configuration file {} did not change. Skipping reload.", key);
+                if (!listeners.isEmpty()) report(listener -> listener.onReloadSkipped(key));
+                if (event.shouldCommit()) {
+                    event.skipped();
+                    commit(event, key);
+                }
+                return false;
+            }
+            long start = System.nanoTime();
+            // The previous state needs to be captured before an in place reload modifies the object.
+            before = current != null && observesChanges(key) ? current.asTree() : null;
+            FileWrapper<?> updated = current != null && inPlaceReload() ? update(key, current) : null;
+            reloaded = updated != null ? updated : createAndLoad(key);
+            files.put(key, reloaded);
+            track(key);
+            long nanos = System.nanoTime() - start;
+            if (!listeners.isEmpty()) report(listener -> listener.onReload(key, nanos));
+            if (event.shouldCommit()) commit(event, key);
+        }
+        // Listeners are notified outside the lock, so they are free to access and reload configurations.
+        if (before != null) {
+            notifyChange(key, reloaded, ConfigDiff.between(before, reloaded.asTree()));
+        }
+        return true;
+    }
+
+    /**
+     * Applies the current environment variables and system properties to all loaded configurations.
+     * <p>
+     * The files are not read again. Only the overrides are evaluated and applied to the loaded objects, including
+     * nested config objects. Use this after changing a system property at runtime.
+     * <p>
+     * Fields whose override was removed keep the last applied value until the file is reloaded.
+     *
+     * @return the keys of the configurations the overrides were applied to
+     */
+    public Set<Key<?>> refreshOverrides() {
+        Set<Key<?>> refreshed = new HashSet<>();
+        for (var key : files.keySet()) {
+            if (refreshOverrides(key)) refreshed.add(key);
+        }
+        return refreshed;
+    }
+
+    /**
+     * Applies the current environment variables and system properties to a loaded configuration without reading
+     * the file again.
+     *
+     * @param key configuration key
+     * @return true if the configuration is loaded and the overrides were applied
+     * @see #refreshOverrides()
+     */
+    public boolean refreshOverrides(Key<?> key) {
+        try (KeyLock keyLock = locks.lock(key)) {
+            FileWrapper<?> current = files.get(key);
+            if (current == null || current.file() == null) return false;
+            applyOverrides(current.file(), key, key.configClazz());
+            return true;
+        }
+    }
+
+    /**
+     * Registers a listener that receives timings and events of the files of this instance.
+     *
+     * @param listener listener to register
+     * @see dev.chojo.ocular.metrics.ConfigurationMetrics
+     */
+    public void addConfigurationListener(ConfigurationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered via {@link #addConfigurationListener(ConfigurationListener)}.
+     *
+     * @param listener listener to remove
+     */
+    public void removeConfigurationListener(ConfigurationListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void report(Consumer<ConfigurationListener> event) {
+        for (ConfigurationListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Configuration listener failed to handle an event.", e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener that is notified when a configuration changed on reload.
+     *
+     * @param listener listener to register
+     */
+    public void addChangeListener(ChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered via {@link #addChangeListener(ChangeListener)}.
+     *
+     * @param listener listener to remove
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Checks whether anyone is interested in the changes of the configuration.
+     * The diff is not computed otherwise, since it requires serializing the configuration twice.
+     */
+    private boolean observesChanges(Key<?> key) {
+        return !changeListeners.isEmpty() || OBSERVES_CHANGES.get(key.configClazz());
+    }
+
+    private void notifyChange(Key<?> key, FileWrapper<?> reloaded, ConfigDiff diff) {
+        if (diff.isEmpty()) return;
+        if (reloaded.file() instanceof ConfigSubscriber sub) {
+            try {
+                sub.onChange(this, diff);
+            } catch (RuntimeException e) {
+                log.error("Configuration {} failed to handle changes.", key, e);
+            }
+        }
+        for (ChangeListener listener : changeListeners) {
+            try {
+                listener.onChange(key, diff);
+            } catch (RuntimeException e) {
+                log.error("Change listener failed to handle changes of {}.", key, e);
+            }
+        }
+    }
+
+    /**
+     * Merges the content of the file into the currently loaded configuration object.
+     * <p>
+     * Records, collections and maps can not be updated in a meaningful way and are read into a new object instead.
+     * The same happens if the file does not exist anymore or can not be read.
+     *
+     * @param key     configuration key
+     * @param current currently loaded wrapper
+     * @return wrapper holding the updated object or null if the file needs to be loaded regularly
+     */
+    @SuppressWarnings("unchecked")
+    private <V> FileWrapper<V> update(Key<V> key, FileWrapper<?> current) {
+        V existing = (V) current.file();
+        if (existing == null || !updatable(existing.getClass()) || !exists(key)) return null;
+        try {
+            return read(determineFormat(key), key, existing);
+        } catch (ConfigurationException e) {
+            log.warn("Could not update configuration {} in place. Loading it again.", key);
+            return null;
+        }
+    }
+
+    private static boolean updatable(Class<?> clazz) {
+        return !clazz.isRecord() && !clazz.isArray() && !Collection.class.isAssignableFrom(clazz) && !Map.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Starts watching the files of this configurations instance and reloads them when they are changed on disk.
+     * <p>
+     * All files loaded now and in the future are watched. Events of a file are coalesced within the debounce window,
+     * and the reload runs on the {@link #executor()}. Only files that actually changed are parsed again.
+     * <p>
+     * If a watcher is already running, it is returned instead of creating a new one.
+     *
+     * @param debounce the time to wait for further changes of a file before it is reloaded
+     * @return the watcher. Close it to stop watching.
+     */
+    public synchronized ConfigWatcher watch(Duration debounce) {
+        if (watcher != null && watcher.isOpen()) {
+            return watcher;
+        }
+        try {
+            watcher = new ConfigWatcher(this, debounce);
+        } catch (IOException e) {
+            throw new ConfigurationException("Could not watch configuration files", e);
+        }
+        for (Key<?> key : files.keySet()) {
+            track(key);
+        }
+        return watcher;
+    }
+
+    private void track(Key<?> key) {
+        ConfigWatcher current = watcher;
+        if (current != null) {
+            current.track(key, resolvePath(key));
+        }
     }
 
     @Override
@@ -254,7 +788,7 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
     @Override
     public void configure(MapperBuilder<ObjectMapper, ?> builder) {
         // This is very important when using polymorphism and library loader feature.
-        builder.typeFactory(TypeFactory.createDefaultInstance().withClassLoader(classLoader))
+        builder.typeFactory(mapperPool().typeFactory(classLoader))
                .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
                .changeDefaultVisibility(this::visibilityChecker);
     }
@@ -263,6 +797,151 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
         return base;
     }
 
+    /**
+     * The pool providing the mappers of the formats of this instance.
+     * <p>
+     * Defaults to the pool of the parent or the {@link MapperPool#shared(ClassLoader) shared pool} of the class loader
+     * of this instance, so equivalent instances loading their classes via the same class loader share their mappers.
+     *
+     * @return mapper pool
+     */
+    public MapperPool mapperPool() {
+        if (parent != null) {
+            return parent.mapperPool();
+        }
+        return mapperPool;
+    }
+
+    /**
+     * Describes everything besides the data format that affects the mappers created for this instance.
+     * <p>
+     * Instances with an equal description share their mappers via the {@link #mapperPool()}. Subclasses customizing
+     * the mappers must include their customizations or return null, which disables sharing.
+     *
+     * @return the description or null if the mappers of this instance are not shared
+     */
+    public Object mapperConfiguration() {
+        if (getClass() != Configurations.class) return null;
+        return mapperConfiguration(List.of());
+    }
+
+    /**
+     * Describes the mappers of this instance including the given customizations.
+     *
+     * Modules are compared by their {@link JacksonModule#getRegistrationId() registration id}, which is also used by
+     * Jackson to skip a module registered twice. Two instances of the same module class are therefore considered equal.
+     *
+     * @param customizers customizations of the mappers. Compared via equals.
+     * @return the description
+     */
+    protected final Object mapperConfiguration(List<?> customizers) {
+        List<Object> modules = new ArrayList<>();
+        for (JacksonModule module : additionalModules()) {
+            Object id = module.getRegistrationId();
+            modules.add(id != null ? id : module.getClass());
+        }
+        return Arrays.asList(getClass(), classLoader, modules, customizers);
+    }
+
+    /**
+     * The executor used for background work like preloading configurations and for the asynchronous methods.
+     * <p>
+     * Defaults to the executor of the parent or a new virtual thread per task.
+     *
+     * @return executor
+     */
+    public Executor executor() {
+        if (parent != null) {
+            return parent.executor();
+        }
+        return DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * The durability used when writing configuration files.
+     * <p>
+     * Files are always replaced atomically. The durability decides whether written data is forced to the storage device.
+     * Defaults to the durability of the parent or {@link Durability#NONE}.
+     *
+     * @return durability
+     */
+    public Durability durability() {
+        if (parent != null) {
+            return parent.durability();
+        }
+        return Durability.NONE;
+    }
+
+    /**
+     * The window in which repeated saves of a file are coalesced into a single write in the background.
+     * <p>
+     * If positive, {@link #save(Key)} only schedules the file and returns immediately. Use {@link #flush()} or
+     * {@link #awaitSaved()} to make sure every file is written.
+     * Defaults to the setting of the parent or {@link Duration#ZERO}, which writes files synchronously.
+     *
+     * @return write-behind window
+     */
+    public Duration writeBehind() {
+        if (parent != null) {
+            return parent.writeBehind();
+        }
+        return Duration.ZERO;
+    }
+
+    /**
+     * Whether reloads update the loaded configuration objects instead of replacing them.
+     * <p>
+     * When enabled, the content of a changed file is merged into the currently loaded object via an updating reader.
+     * References to the object stay valid and no new object graph is created for the root object.
+     * {@link ConfigSubscriber#postRead(Configurations)} is called and overrides are applied again afterward.
+     * <p>
+     * Properties missing in the file keep their current value instead of falling back to the default value.
+     * Records, collections and maps can not be updated and are always replaced.
+     * If the file can not be read, the configuration is loaded regularly, which might leave the old object
+     * partially updated.
+     * <p>
+     * Defaults to the setting of the parent or false.
+     *
+     * @return true if configuration objects are updated on reload
+     */
+    public boolean inPlaceReload() {
+        if (parent != null) {
+            return parent.inPlaceReload();
+        }
+        return false;
+    }
+
+    /**
+     * Custom converters used to convert override values into the type of the overridden field.
+     * <p>
+     * Types without a built-in or custom converter are converted via the reader of the main configuration's format.
+     * Defaults to the converters of the parent or none.
+     *
+     * @return converters by target type
+     * @see OverrideConverters
+     */
+    public Map<Class<?>, OverrideConverter<?>> overrideConverters() {
+        if (parent != null) {
+            return parent.overrideConverters();
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Additional sources of the environment variables and system properties read by overrides.
+     * <p>
+     * The sources are asked in order after the environment variables and system properties of the JVM.
+     * Defaults to the sources of the parent or none.
+     *
+     * @return additional sources ordered by precedence
+     */
+    public List<OverrideSource> overrideSources() {
+        if (parent != null) {
+            return parent.overrideSources();
+        }
+        return Collections.emptyList();
+    }
+
     /**
      * Allows registering additional modules to the mapper.
      *
@@ -302,12 +981,12 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
     protected final <V> FileWrapper<V> load(Key<V> key) {
         if (!exists(key)) return null;
         try {
-            return read(determineFormat(key), resolvePath(key), key.configClazz());
+            return read(determineFormat(key), key, null);
         } catch (ConfigurationException e) {
             log.error("Could not load configuration file.", e);
             backup(key);
             log.warn("Recreating default config");
-            write(resolvePath(key), new FileWrapper<>(determineFormat(key), key.initValue().get()));
+            write(key, new FileWrapper<>(determineFormat(key), key.initValue().get()));
         }
         return new FileWrapper<>(determineFormat(key), key.initValue().get());
     }
@@ -323,9 +1002,8 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
      */
     protected final <V> FileWrapper<V> createAndLoad(Key<V> key) {
         if (!exists(key)) {
-            var path = resolvePath(key);
-            log.info("Configuration file: {} does not exist. Creating.", path);
-            write(path, new FileWrapper<>(determineFormat(key), key.initValue().get()));
+            log.info("Configuration file: {} does not exist. Creating.", resolvePath(key));
+            write(key, new FileWrapper<>(determineFormat(key), key.initValue().get()));
         }
         return load(key);
     }
@@ -335,36 +1013,152 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
         var backupName = "backup_" + DTF.format(LocalDateTime.now()) + "_" + target.getFileName();
         log.warn("Backing up {} to {}", target, backupName);
         try {
-            Files.move(target, target.getParent().resolve(backupName));
+            Path backup = Files.move(target, target.getParent().resolve(backupName));
             log.error("Backup done.");
+            if (!listeners.isEmpty()) report(listener -> listener.onBackup(key, backup));
         } catch (IOException e) {
             log.error("Could not create backup.");
         }
     }
 
-    private void write(Path path, FileWrapper<?> wrapper) {
-        try {
+    private void write(Key<?> key, FileWrapper<?> wrapper) {
+        write(key, wrapper, true);
+    }
+
+    /**
+     * Writes the file unless it is unchanged.
+     * <p>
+     * The file is serialized and replaced under the lock of the key, so concurrent writes of the same file can not
+     * interleave or leave a fingerprint of the other write.
+     *
+     * @param key     configuration key
+     * @param wrapper wrapper of the file
+     * @param force   true to write the file even if it did not change
+     * @return true if the file was written
+     */
+    private boolean write(Key<?> key, FileWrapper<?> wrapper, boolean force) {
+        Path path = resolvePath(key);
+        long start = System.nanoTime();
+        FileEvent event = Events.save();
+        try (KeyLock keyLock = locks.lock(key)) {
             if (wrapper.file() instanceof ConfigSubscriber sub) {
                 sub.preWrite(this);
             }
-            Files.createDirectories(path.getParent());
-            // We do this to avoid wiping a file on serialization error.
-            Files.writeString(path, wrapper.asString());
+            // The content is serialized and hashed in memory first, so an unchanged file does not touch the disk.
+            // A changed file is written from the same buffer without serializing it again.
+            ContentHash.HashingWriter content = ContentHash.hashing(wrapper::write);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            content.write(buffer);
+            if (!force && ContentHash.equals(content.hash(), wrapper.contentHash()) && Files.exists(path)) {
+                log.trace("Configuration file {} did not change. Skipping write.", path);
+                if (!listeners.isEmpty()) report(listener -> listener.onWriteSkipped(key));
+                if (event.shouldCommit()) {
+                    event.skipped();
+                    commit(event, key);
+                }
+                return false;
+            }
+            AtomicFiles.write(path, durability(), buffer::writeTo);
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            wrapper.fingerprint(FileFingerprint.of(attributes, content.hash()));
+            long nanos = System.nanoTime() - start;
+            if (!listeners.isEmpty()) report(listener -> listener.onWrite(key, nanos));
+            if (event.shouldCommit()) {
+                event.bytes(attributes.size());
+                commit(event, key);
+            }
+            return true;
         } catch (IOException e) {
             log.error("Could not write configuration file to {}", path, e);
             throw new ConfigurationException("Could not write configuration file to " + path, e);
         }
     }
 
-    private <V> FileWrapper<V> read(Format<?, ?> format, Path path, Class<V> clazz) {
+    /**
+     * Checks whether the file on disk is exactly the file that was last read or written by this instance.
+     * <p>
+     * Only the metadata is compared, so this is cheap enough to filter file system events, e.g. those caused by
+     * writing the file. Use {@link #reloadIfChanged(Key)} to reliably detect changes.
+     *
+     * @param key configuration key
+     * @return true if size, modification time and file key of the file match those recorded when it was last read or
+     * written. False if the file is not loaded or its state is unknown.
+     * @see FileFingerprint#matches(BasicFileAttributes)
+     */
+    public boolean isUpToDate(Key<?> key) {
+        FileWrapper<?> wrapper = files.get(key);
+        FileFingerprint fingerprint = wrapper == null ? null : wrapper.fingerprint();
+        if (fingerprint == null) return false;
         try {
-            V v = format.reader().readValue(path.toFile(), clazz);
+            return fingerprint.matches(Files.readAttributes(resolvePath(key), BasicFileAttributes.class));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the file changed on disk since it was last read or written.
+     * <p>
+     * The size and modification time are checked first. The content is only read and hashed when the metadata
+     * is inconclusive. If the content is unchanged, the fingerprint is refreshed, so that the next check is cheap again.
+     *
+     * @param path    path of the file
+     * @param wrapper currently loaded wrapper
+     * @return true if the file changed or its state is unknown
+     */
+    private boolean changed(Path path, FileWrapper<?> wrapper) {
+        FileFingerprint fingerprint = wrapper.fingerprint();
+        if (fingerprint == null) return true;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (fingerprint.unchanged(attributes)) return false;
+            if (fingerprint.changed(attributes)) return true;
+            if (!ContentHash.equals(ContentHash.of(Files.readAllBytes(path)), fingerprint.contentHash())) return true;
+            wrapper.fingerprint(fingerprint.refresh(attributes));
+            return false;
+        } catch (IOException e) {
+            // The file was deleted or can not be accessed. A reload will recreate or report it.
+            return true;
+        }
+    }
+
+    /**
+     * Reads the file.
+     *
+     * @param format   format of the file
+     * @param key      configuration key
+     * @param existing object to update with the content of the file or null to create a new one
+     * @return wrapper of the read file
+     */
+    private <V> FileWrapper<V> read(Format<?, ?> format, Key<V> key, V existing) {
+        Path path = resolvePath(key);
+        Class<V> clazz = key.configClazz();
+        FileEvent event = Events.load();
+        try {
+            long start = System.nanoTime();
+            // Attributes are read first. A modification during reading will be detected on the next reload.
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            byte[] content = Files.readAllBytes(path);
+            long read = System.nanoTime();
+            V v = existing == null
+                    ? format.reader().readValue(content, clazz)
+                    : format.reader().readerForUpdating(existing).readValue(content);
             if (v instanceof ConfigSubscriber sub) {
                 sub.postRead(this);
             }
-            applyOverrides(v, clazz);
-            return new FileWrapper<>(format, v);
-        } catch (JacksonException e) {
+            long parsed = System.nanoTime();
+            applyOverrides(v, key, clazz);
+            if (!listeners.isEmpty()) {
+                long overridden = System.nanoTime();
+                report(listener -> listener.onRead(key, content.length, read - start, parsed - read));
+                report(listener -> listener.onOverridesApplied(key, overridden - parsed));
+            }
+            if (event.shouldCommit()) {
+                event.bytes(content.length);
+                commit(event, key);
+            }
+            return new FileWrapper<>(format, v, FileFingerprint.of(attributes, ContentHash.of(content)));
+        } catch (JacksonException | IOException e) {
             log.error("Could not read configuration file from {}", path, e);
             throw new ConfigurationException("Could not read configuration file from " + path, e);
         }
@@ -378,28 +1172,34 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
      * {@link dev.chojo.ocular.processor.OcularProcessor} during compilation). If found, it instantiates
      * the generated {@link ValueSupplier} and delegates to {@link OverrideApplier} to replace field values.
      * <p>
+     * Nested config objects receive the overrides of their own class.
+     * The generated class and the way of applying overrides are resolved once per class and reused on every load.
      * If no generated class exists (i.e. the config class has no {@code @Overwrite} annotations),
      * this method silently does nothing.
      */
-    private <V> void applyOverrides(V object, Class<V> clazz) {
-        String baseName = clazz.getName();
-        // Inner classes use '$' in Class.getName() (e.g. "Outer$Inner") but the generated class
-        // uses '_' instead (e.g. "Outer_Inner_OcularOverride"), so we try both naming conventions.
-        for (String candidate : List.of(baseName.replace('$', '_'), baseName)) {
-            try {
-                // Look up the generated override class by its conventional name
-                Class<?> overrideClass = Class.forName(candidate + "_OcularOverride", true, classLoader);
-                // Create an instance — the constructor reads env and props into its internal map
-                ValueSupplier supplier = (ValueSupplier) overrideClass.getDeclaredConstructor().newInstance();
-                // Apply the collected override values to the config object's fields/methods
-                OverrideApplier.applyOverrides(object, supplier);
-                return;
-            } catch (ClassNotFoundException ignored) {
-                // No generated class for this naming variant — try the next one
-            } catch (ReflectiveOperationException e) {
-                log.warn("Could not apply overrides for class {}: {}", clazz.getName(), e.getMessage());
-                return;
+    private void applyOverrides(Object object, Key<?> key, Class<?> clazz) {
+        FileEvent event = Events.overrideApply(clazz);
+        overrideSuppliers().applyOverrides(object, clazz);
+        if (event.shouldCommit()) commit(event, key);
+    }
+
+    /**
+     * Created lazily, since subclasses provide the converters after this class was constructed.
+     */
+    private OverrideSuppliers overrideSuppliers() {
+        OverrideSuppliers current = overrideSuppliers;
+        if (current != null) return current;
+        synchronized (this) {
+            if (overrideSuppliers == null) {
+                // Objects and arrays are given as JSON, which the reader of the main format might not parse.
+                Format<?, ?> json = new Format<>(new JsonDataFormat(), this);
+                OverrideConverters converters = OverrideConverters.of(overrideConverters(), json::reader);
+                List<OverrideSource> sources = new LinkedList<>();
+                sources.add(OverrideSource.system());
+                sources.addAll(overrideSources());
+                overrideSuppliers = new OverrideSuppliers(classLoader, converters, OverrideSource.chain(sources));
             }
+            return overrideSuppliers;
         }
     }
 
@@ -407,15 +1207,36 @@ public class Configurations<T> implements Configurator<ObjectMapper, MapperBuild
         return key.path().isAbsolute() ? key.path() : base.resolve(key.path());
     }
 
+    private void commit(FileEvent event, Key<?> key) {
+        event.commit(key.name(), resolvePath(key).toString(), determineFormat(key).format().type());
+    }
+
     private Format<?, ?> determineFormat(Key<?> key) {
-        for (var format : formats) {
-            if (format.format().matches(key)) {
-                return format;
-            }
+        Format<?, ?> format = findFormat(key);
+        if (format != null) return format;
+        List<Format<?, ?>> supported = new LinkedList<>();
+        for (Configurations<?> current = this; current != null; current = current.parent) {
+            supported.addAll(current.formats.formats());
         }
-        if (parent != null) {
-            parent.determineFormat(key);
+        throw new UnknownFormatException(key, supported);
+    }
+
+    /**
+     * Resolves the format of the key via the own formats or the formats of the parent.
+     * The result is remembered per key, so the format of a key is resolved once.
+     *
+     * @return the format or null if no format matches the key
+     */
+    private Format<?, ?> findFormat(Key<?> key) {
+        Format<?, ?> format = resolvedFormats.get(key);
+        if (format != null) return format;
+        format = formats.find(key);
+        if (format == null && parent != null) {
+            format = parent.findFormat(key);
+        }
+        if (format != null) {
+            resolvedFormats.putIfAbsent(key, format);
         }
-        throw new UnknownFormatException(key, formats);
+        return format;
     }
 }
@@ -5,21 +5,36 @@
  */
 package dev.chojo.ocular;
 
+import dev.chojo.ocular.components.MapperPool;
 import dev.chojo.ocular.dataformats.DataFormat;
 import dev.chojo.ocular.impl.ModifyableConfigurations;
+import dev.chojo.ocular.io.Durability;
 import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.metrics.ConfigurationListener;
+import dev.chojo.ocular.override.OverrideConverter;
+import dev.chojo.ocular.override.OverrideSource;
 import dev.chojo.ocular.util.Consumers;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
 import tools.jackson.databind.JacksonModule;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.cfg.MapperBuilder;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * ConfigurationsBuilder is a builder pattern class for creating {@link Configurations} objects.
  * This builder allows users to configure various aspects of a configuration setup, such as the
@@ -28,12 +43,23 @@ import java.util.function.Consumer;
  * @param <T> The type associated with the primary configuration key.
  */
 public class ConfigurationsBuilder<T> {
+    private static final Logger log = getLogger(ConfigurationsBuilder.class);
     private final @NotNull Key<T> main;
     private final List<DataFormat<?, ?>> formats = new LinkedList<>();
     private final List<JacksonModule> modules = new LinkedList<>();
+    private final Set<Key<?>> preload = new LinkedHashSet<>();
+    private final Set<Key<?>> warmUp = new LinkedHashSet<>();
+    private final List<ConfigurationListener> listeners = new LinkedList<>();
+    private final Map<Class<?>, OverrideConverter<?>> overrideConverters = new HashMap<>();
+    private final List<OverrideSource> overrideSources = new LinkedList<>();
     private Path base = Path.of(".");
     private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
     private Configurations<?> parent = null;
+    private Executor executor = null;
+    private Durability durability = null;
+    private Boolean inPlaceReload = null;
+    private Duration writeBehind = null;
+    private MapperPool mapperPool = null;
     private Consumer<MapperBuilder<ObjectMapper, ?>> configureReaderBuilder = Consumers.identity();
     private Consumer<ObjectMapper> configureReaderMapper = Consumers.identity();
     private Consumer<MapperBuilder<ObjectMapper, ?>> configureWriterBuilder = Consumers.identity();
@@ -206,7 +232,199 @@ public class ConfigurationsBuilder<T> {
         return this;
     }
 
+    /**
+     * Registers a converter for override values of the given type.
+     * <p>
+     * Custom converters take precedence over the built-in converters.
+     *
+     * @param type      type of the overridden fields
+     * @param converter converter from the override value to the type
+     * @param <V>       type of the overridden fields
+     * @return self
+     */
+    public <V> ConfigurationsBuilder<T> addOverrideConverter(Class<V> type, OverrideConverter<? extends V> converter) {
+        overrideConverters.put(type, converter);
+        return this;
+    }
+
+    /**
+     * Adds a source for the environment variables and system properties read by overrides.
+     * <p>
+     * The environment variables and system properties of the JVM always take precedence. Further sources are asked
+     * in the order they were added.
+     *
+     * @param source source to add
+     * @return self
+     * @see OverrideSource#dotEnv(Path)
+     * @see OverrideSource#secrets(Path)
+     */
+    public ConfigurationsBuilder<T> addOverrideSource(OverrideSource source) {
+        overrideSources.add(source);
+        return this;
+    }
+
+    /**
+     * Sets the executor used for background work like preloading configurations and for the asynchronous methods.
+     * <p>
+     * If not set, the executor of the parent or a new virtual thread per task is used.
+     *
+     * @param executor the executor to be used
+     * @return self
+     */
+    public ConfigurationsBuilder<T> withExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the durability used when writing configuration files.
+     * <p>
+     * If not set, the durability of the parent or {@link Durability#NONE} is used.
+     *
+     * @param durability the durability of writes
+     * @return self
+     */
+    public ConfigurationsBuilder<T> withDurability(Durability durability) {
+        this.durability = durability;
+        return this;
+    }
+
+    /**
+     * Sets whether reloads update the loaded configuration objects instead of replacing them.
+     * <p>
+     * If enabled, the content of a changed file is merged into the object that is currently loaded.
+     * References to that object stay valid and see the new values.
+     * If not set, the setting of the parent is used or configuration objects are replaced.
+     *
+     * @param inPlaceReload true to update loaded configuration objects on reload
+     * @return self
+     * @see Configurations#inPlaceReload()
+     */
+    public ConfigurationsBuilder<T> withInPlaceReload(boolean inPlaceReload) {
+        this.inPlaceReload = inPlaceReload;
+        return this;
+    }
+
+    /**
+     * Enables writing files in the background when they are saved.
+     * <p>
+     * Saves of the same file within the window are coalesced into a single write of the latest state. A zero window
+     * writes files synchronously. If not set, the setting of the parent is used or files are written synchronously.
+     *
+     * @param window the time to wait for further saves of a file before it is written
+     * @return self
+     * @see Configurations#writeBehind()
+     */
+    public ConfigurationsBuilder<T> withWriteBehind(Duration window) {
+        this.writeBehind = window;
+        return this;
+    }
+
+    /**
+     * Sets the pool providing the mappers of the formats.
+     * <p>
+     * Configurations sharing a pool share their mappers if they use equal formats, modules, class loader and
+     * customizers. If not set, the pool of the parent or a new pool is used.
+     *
+     * @param mapperPool the pool to be used
+     * @return self
+     * @see Configurations#mapperPool()
+     */
+    public ConfigurationsBuilder<T> withMapperPool(MapperPool mapperPool) {
+        this.mapperPool = mapperPool;
+        return this;
+    }
+
+    /**
+     * Registers keys that are loaded eagerly when the configurations are built via {@link #preloadAsync()}.
+     *
+     * @param keys keys to preload
+     * @return self
+     */
+    public ConfigurationsBuilder<T> preload(Key<?>... keys) {
+        return preload(List.of(keys));
+    }
+
+    /**
+     * Registers keys that are loaded eagerly when the configurations are built via {@link #preloadAsync()}.
+     *
+     * @param keys keys to preload
+     * @return self
+     */
+    public ConfigurationsBuilder<T> preload(Collection<? extends Key<?>> keys) {
+        preload.addAll(keys);
+        return this;
+    }
+
+    /**
+     * Registers a listener that receives timings and events of the files of the configurations.
+     *
+     * @param listener listener to register
+     * @return self
+     * @see Configurations#addConfigurationListener(ConfigurationListener)
+     */
+    public ConfigurationsBuilder<T> addConfigurationListener(ConfigurationListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Registers keys whose configuration classes are prepared in the background when the configurations are built.
+     * <p>
+     * The mappers of the formats are built and the serializers and deserializers of the configuration classes are
+     * resolved, without reading any file. The main configuration is always prepared once a key is registered.
+     *
+     * @param keys keys to prepare
+     * @return self
+     * @see Configurations#warmUp(Collection)
+     */
+    public ConfigurationsBuilder<T> warmUp(Key<?>... keys) {
+        return warmUp(List.of(keys));
+    }
+
+    /**
+     * Registers keys whose configuration classes are prepared in the background when the configurations are built.
+     *
+     * @param keys keys to prepare
+     * @return self
+     * @see #warmUp(Key[])
+     */
+    public ConfigurationsBuilder<T> warmUp(Collection<? extends Key<?>> keys) {
+        warmUp.addAll(keys);
+        return this;
+    }
+
     public Configurations<T> build() {
-        return new ModifyableConfigurations<>(base, main, formats, classLoader, parent, configureReaderBuilder, configureReaderMapper, configureWriterBuilder, configureWriterMapper, configureBuilder, configureMapper, modules);
+        Configurations<T> configurations = create();
+        listeners.forEach(configurations::addConfigurationListener);
+        if (!warmUp.isEmpty()) {
+            Set<Key<?>> keys = new LinkedHashSet<>();
+            keys.add(main);
+            keys.addAll(warmUp);
+            configurations.warmUp(keys).exceptionally(e -> {
+                log.warn("Could not warm up configurations.", e);
+                return null;
+            });
+        }
+        return configurations;
+    }
+
+    private Configurations<T> create() {
+        return new ModifyableConfigurations<>(base, main, formats, classLoader, parent, configureReaderBuilder, configureReaderMapper, configureWriterBuilder, configureWriterMapper, configureBuilder, configureMapper, modules, executor, durability, inPlaceReload, writeBehind, overrideConverters, overrideSources, mapperPool);
+    }
+
+    /**
+     * Builds the configurations and loads the main configuration and all keys registered via {@link #preload(Key[])}
+     * in parallel.
+     *
+     * @return a future that completes with the configurations once every configuration is loaded.
+     * @see Configurations#preloadAsync(Collection)
+     */
+    public CompletableFuture<Configurations<T>> preloadAsync() {
+        Configurations<T> configurations = build();
+        Set<Key<?>> keys = new LinkedHashSet<>();
+        keys.add(main);
+        keys.addAll(preload);
+        return configurations.preloadAsync(keys).thenApply(v -> configurations);
     }
 }
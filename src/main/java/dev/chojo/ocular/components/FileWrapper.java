@@ -5,17 +5,99 @@
  */
 package dev.chojo.ocular.components;
 
+import dev.chojo.ocular.io.FileFingerprint;
 import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.OutputStream;
+import java.util.Objects;
 
 /**
  * A generic wrapper class that associates a file object with a specific data format
- * encapsulated by the {@link Format} class. This class provides a utility method
- * to serialize the encapsulated file object into a string representation using
- * the configured writer of the associated format.
+ * encapsulated by the {@link Format} class. This class provides utility methods
+ * to serialize the encapsulated file object into a string representation or directly
+ * into a stream using the configured writer of the associated format.
+ * <p>
+ * Additionally, the wrapper remembers the fingerprint of the file that was last read from or written to disk.
+ * This allows skipping writes of files that did not change and reloads of files that were not modified.
  *
  * @param <T> the type of the file object being wrapped
  */
-public record FileWrapper<T>(Format<?, ?> format, T file) {
+public final class FileWrapper<T> {
+    private final Format<?, ?> format;
+    private final T file;
+    private volatile FileFingerprint fingerprint;
+
+    /**
+     * Creates a new wrapper for a file whose content on disk is unknown.
+     *
+     * @param format format of the file
+     * @param file   file object
+     */
+    public FileWrapper(Format<?, ?> format, T file) {
+        this(format, file, null);
+    }
+
+    /**
+     * Creates a new wrapper for a file.
+     *
+     * @param format      format of the file
+     * @param file        file object
+     * @param fingerprint fingerprint of the file on disk or null if unknown
+     */
+    public FileWrapper(Format<?, ?> format, T file, FileFingerprint fingerprint) {
+        this.format = format;
+        this.file = file;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * The format used to read and write the file.
+     *
+     * @return format
+     */
+    public Format<?, ?> format() {
+        return format;
+    }
+
+    /**
+     * The wrapped file object.
+     *
+     * @return file object
+     */
+    public T file() {
+        return file;
+    }
+
+    /**
+     * The fingerprint of the file that was last read from or written to disk.
+     *
+     * @return fingerprint or null if unknown
+     */
+    public FileFingerprint fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Sets the fingerprint of the file on disk.
+     *
+     * @param fingerprint fingerprint of the file
+     */
+    public void fingerprint(FileFingerprint fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * The hash of the content that was last read from or written to disk.
+     *
+     * @return hash or null if unknown
+     */
+    public byte[] contentHash() {
+        FileFingerprint current = fingerprint;
+        return current == null ? null : current.contentHash();
+    }
+
     /**
      * Serializes the encapsulated file object into its JSON string representation
      * using the configured writer of the associated format.
@@ -24,9 +106,59 @@ public record FileWrapper<T>(Format<?, ?> format, T file) {
      * @throws JacksonException if an error occurs during serialization
      */
     public String asString() throws JacksonException {
+        return writer().writeValueAsString(file);
+    }
+
+    /**
+     * Serializes the encapsulated file object directly into the given stream
+     * using the configured writer of the associated format.
+     * <p>
+     * Unlike {@link #asString()} no intermediate representation of the whole file is created.
+     * Jackson writes through its own recycled buffers into the stream.
+     * The stream will be closed after writing.
+     *
+     * @param out the stream to write to
+     * @throws JacksonException if an error occurs during serialization
+     */
+    public void write(OutputStream out) throws JacksonException {
+        writer().writeValue(out, file);
+    }
+
+    /**
+     * Converts the encapsulated file object into a tree as it would be written by the associated format.
+     *
+     * @return tree of the file object
+     * @throws JacksonException if an error occurs during serialization
+     */
+    public JsonNode asTree() throws JacksonException {
+        return format.writer().valueToTree(file);
+    }
+
+    /**
+     * Wrappers are equal if they hold equal files of the same format, like the record this class used to be.
+     * The fingerprint is not compared.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (!(obj instanceof FileWrapper<?> that)) return false;
+        return Objects.equals(format, that.format) && Objects.equals(file, that.file);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(format, file);
+    }
+
+    @Override
+    public String toString() {
+        return "FileWrapper[format=" + format + ", file=" + file + "]";
+    }
+
+    private ObjectWriter writer() {
         if (format.format().enablePrettyPrint()) {
-            return format.writer().writerWithDefaultPrettyPrinter().writeValueAsString(file);
+            return format.writer().writerWithDefaultPrettyPrinter();
         }
-        return format.writer().writeValueAsString(file);
+        return format.writer().writer();
     }
 }
@@ -7,6 +7,8 @@ package dev.chojo.ocular.components;
 
 import dev.chojo.ocular.Configurations;
 import dev.chojo.ocular.dataformats.DataFormat;
+import dev.chojo.ocular.jfr.Events;
+import dev.chojo.ocular.jfr.MapperEvent;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.cfg.MapperBuilder;
 
@@ -15,6 +17,10 @@ import tools.jackson.databind.cfg.MapperBuilder;
  * ObjectMapper instances configured for a specific data format. This includes both reader
  * and writer instances, which are lazily initialized and configured according to a specific
  * DataFormat and Configurations provided during construction.
+ * <p>
+ * The initialization is thread safe. Concurrent first access builds each mapper exactly once.
+ * Mappers are taken from the {@link MapperPool} of the configurations, so formats of configurations with the same
+ * {@link Configurations#mapperConfiguration() mapper configuration} share their mappers.
  *
  * @param <M> the type of the specialized ObjectMapper
  * @param <B> the type of the builder used to build the ObjectMapper
@@ -22,8 +28,8 @@ import tools.jackson.databind.cfg.MapperBuilder;
 public class Format<M extends ObjectMapper, B extends MapperBuilder<M, B>> {
     private final DataFormat<M, B> format;
     private final Configurations<?> configurations;
-    private ObjectMapper reader;
-    private ObjectMapper writer;
+    private volatile ObjectMapper reader;
+    private volatile ObjectMapper writer;
 
     public Format(DataFormat<M, B> format, Configurations<?> configurations) {
         this.format = format;
@@ -39,16 +45,24 @@ public class Format<M extends ObjectMapper, B extends MapperBuilder<M, B>> {
      * @return the configured ObjectMapper instance for reading
      */
     public ObjectMapper reader() {
-        if (reader == null) {
-            B mapper = format.createMapper();
-            this.configure(mapper);
-            configurations.configureReader((MapperBuilder<ObjectMapper, ?>) mapper);
-            format.configureReader(mapper);
-            M reader = mapper.build();
-            configurations.configureReader(reader);
-            format.configureReader(reader);
-            this.reader = reader;
+        if (reader != null) return reader;
+        synchronized (this) {
+            if (reader != null) return reader;
+            this.reader = configurations.mapperPool().mapper(poolKey(false), this::createReader);
+            return reader;
         }
+    }
+
+    private M createReader() {
+        MapperEvent event = Events.mapperBuild();
+        B mapper = format.createMapper();
+        this.configure(mapper);
+        configurations.configureReader((MapperBuilder<ObjectMapper, ?>) mapper);
+        format.configureReader(mapper);
+        M reader = mapper.build();
+        configurations.configureReader(reader);
+        format.configureReader(reader);
+        commit(event, false);
         return reader;
     }
 
@@ -61,19 +75,41 @@ public class Format<M extends ObjectMapper, B extends MapperBuilder<M, B>> {
      * @return the configured ObjectMapper instance for writing
      */
     public ObjectMapper writer() {
-        if (writer == null) {
-            B mapper = format.createMapper();
-            this.configure(mapper);
-            configurations.configureWriter((MapperBuilder<ObjectMapper, ?>) mapper);
-            format.configureWriter(mapper);
-            M writer = mapper.build();
-            configurations.configureWriter((MapperBuilder<ObjectMapper, ?>) mapper);
-            format.configureWriter(mapper);
-            this.writer = writer;
+        if (writer != null) return writer;
+        synchronized (this) {
+            if (writer != null) return writer;
+            this.writer = configurations.mapperPool().mapper(poolKey(true), this::createWriter);
+            return writer;
         }
+    }
+
+    private M createWriter() {
+        MapperEvent event = Events.mapperBuild();
+        B mapper = format.createMapper();
+        this.configure(mapper);
+        configurations.configureWriter((MapperBuilder<ObjectMapper, ?>) mapper);
+        format.configureWriter(mapper);
+        M writer = mapper.build();
+        configurations.configureWriter(writer);
+        format.configureWriter(writer);
+        commit(event, true);
         return writer;
     }
 
+    private void commit(MapperEvent event, boolean writer) {
+        if (event.shouldCommit()) event.commit(format.type(), writer);
+    }
+
+    /**
+     * The key of a mapper in the pool.
+     *
+     * @return the key or null if the mapper can not be shared
+     */
+    private Object poolKey(boolean writer) {
+        Object configuration = configurations.mapperConfiguration();
+        return configuration == null ? null : new PoolKey(format, configuration, writer);
+    }
+
     /**
      * Retrieves the associated DataFormat instance used for configuring and managing
      * the mapping of data objects. This is the DataFormat instance provided to the
@@ -98,4 +134,7 @@ public class Format<M extends ObjectMapper, B extends MapperBuilder<M, B>> {
         mapper.addModules(configurations.additionalModules());
         mapper.addModules(format.additionalModules());
     }
+
+    private record PoolKey(DataFormat<?, ?> format, Object configuration, boolean writer) {
+    }
 }
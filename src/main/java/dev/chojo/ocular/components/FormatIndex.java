@@ -0,0 +1,98 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.components;
+
+import dev.chojo.ocular.dataformats.DataFormat;
+import dev.chojo.ocular.key.Key;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves the {@link Format} of a key by the extension of its file name.
+ * <p>
+ * The types and aliases of all formats are indexed once, so a lookup costs one map access per extension of the file
+ * name. Compound extensions are supported. For {@code config.json.gz} the extensions {@code json.gz} and {@code gz}
+ * are looked up in this order, so the most specific extension wins. If multiple formats share an extension, the
+ * format registered first is used.
+ * <p>
+ * Formats overriding {@link DataFormat#matches(Key)} are asked before the index. Keys without an indexed extension
+ * are matched via {@link DataFormat#matches(Key)} of all formats.
+ */
+public final class FormatIndex {
+    private final List<Format<?, ?>> formats;
+    private final List<Format<?, ?>> customMatchers = new LinkedList<>();
+    private final Map<String, Format<?, ?>> extensions = new HashMap<>();
+
+    /**
+     * Indexes the given formats.
+     *
+     * @param formats formats ordered by precedence
+     */
+    public FormatIndex(List<Format<?, ?>> formats) {
+        this.formats = Collections.unmodifiableList(formats);
+        for (Format<?, ?> format : formats) {
+            DataFormat<?, ?> dataFormat = format.format();
+            if (overridesMatches(dataFormat)) customMatchers.add(format);
+            extensions.putIfAbsent(normalize(dataFormat.type()), format);
+            for (String alias : dataFormat.typeAlias()) {
+                extensions.putIfAbsent(normalize(alias), format);
+            }
+        }
+    }
+
+    /**
+     * Finds the format of the key.
+     *
+     * @param key configuration key
+     * @return the format or null if no format matches the key
+     */
+    public Format<?, ?> find(Key<?> key) {
+        for (Format<?, ?> format : customMatchers) {
+            if (format.format().matches(key)) return format;
+        }
+        Path fileName = key.path().getFileName();
+        if (fileName != null) {
+            String name = fileName.toString().toLowerCase(Locale.ROOT);
+            // The first dot yields the longest extension.
+            for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1)) {
+                Format<?, ?> format = extensions.get(name.substring(dot + 1));
+                if (format != null) return format;
+            }
+        }
+        for (Format<?, ?> format : formats) {
+            if (format.format().matches(key)) return format;
+        }
+        return null;
+    }
+
+    /**
+     * The indexed formats.
+     *
+     * @return unmodifiable list of formats ordered by precedence
+     */
+    public List<Format<?, ?>> formats() {
+        return formats;
+    }
+
+    private static String normalize(String extension) {
+        String normalized = extension.toLowerCase(Locale.ROOT);
+        return normalized.startsWith(".") ? normalized.substring(1) : normalized;
+    }
+
+    private static boolean overridesMatches(DataFormat<?, ?> format) {
+        try {
+            return format.getClass().getMethod("matches", Key.class).getDeclaringClass() != DataFormat.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
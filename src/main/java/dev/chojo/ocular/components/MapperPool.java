@@ -0,0 +1,89 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.components;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.type.TypeFactory;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares mappers between {@link dev.chojo.ocular.Configurations} with the same effective mapper configuration.
+ * <p>
+ * Mappers cache serializers and deserializers, so sharing them between instances using the same formats, modules,
+ * class loader and customizers keeps those caches warm. Child configurations use the pool of their parent.
+ * Other configurations use the {@link #shared(ClassLoader) shared pool} of their class loader by default. A different
+ * pool can be passed to {@link dev.chojo.ocular.ConfigurationsBuilder#withMapperPool(MapperPool)}.
+ * <p>
+ * The pool holds strong references to its mappers and therefore to the class loaders of the configurations using it.
+ * Only share a pool between configurations with the same lifecycle.
+ */
+public final class MapperPool {
+    private static final Map<ClassLoader, WeakReference<MapperPool>> SHARED = new WeakHashMap<>();
+    private final Map<Object, ObjectMapper> mappers = new ConcurrentHashMap<>();
+    private final Map<ClassLoader, TypeFactory> typeFactories = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the pool shared by all configurations loading their classes via the class loader.
+     * <p>
+     * The pool is kept as long as a configuration uses it. It does not keep the class loader alive, so unloading a
+     * plugin releases its pool as well.
+     *
+     * @param classLoader class loader of the configuration classes
+     * @return the shared pool
+     */
+    public static MapperPool shared(ClassLoader classLoader) {
+        synchronized (SHARED) {
+            WeakReference<MapperPool> reference = SHARED.get(classLoader);
+            MapperPool pool = reference == null ? null : reference.get();
+            if (pool == null) {
+                pool = new MapperPool();
+                SHARED.put(classLoader, new WeakReference<>(pool));
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * Returns the mapper for the given configuration or creates it.
+     * <p>
+     * Concurrent calls with an equal configuration create the mapper once.
+     *
+     * @param configuration everything affecting the mapper. Null if the mapper should not be shared.
+     * @param factory       creates the mapper
+     * @return the shared mapper or a new mapper if the configuration is null
+     */
+    public ObjectMapper mapper(Object configuration, Supplier<? extends ObjectMapper> factory) {
+        if (configuration == null) return factory.get();
+        ObjectMapper mapper = mappers.get(configuration);
+        if (mapper != null) return mapper;
+        return mappers.computeIfAbsent(configuration, k -> factory.get());
+    }
+
+    /**
+     * Returns the type factory resolving classes via the given class loader.
+     *
+     * @param classLoader class loader of the configuration classes
+     * @return the shared type factory
+     */
+    public TypeFactory typeFactory(ClassLoader classLoader) {
+        if (classLoader == null) return TypeFactory.createDefaultInstance();
+        return typeFactories.computeIfAbsent(classLoader, loader -> TypeFactory.createDefaultInstance().withClassLoader(loader));
+    }
+
+    /**
+     * The number of mappers held by this pool.
+     *
+     * @return number of mappers
+     */
+    public int size() {
+        return mappers.size();
+    }
+}
@@ -44,4 +44,16 @@ public class JsonDataFormat implements DataFormat<JsonMapper, JsonMapper.Builder
             mapper.writerWithDefaultPrettyPrinter();
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return prettyPrint == ((JsonDataFormat) o).prettyPrint;
+    }
+
+    @Override
+    public int hashCode() {
+        return Boolean.hashCode(prettyPrint);
+    }
 }
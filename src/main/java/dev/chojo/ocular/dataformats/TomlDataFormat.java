@@ -28,4 +28,14 @@ public class TomlDataFormat implements DataFormat<TomlMapper, TomlMapper.Builder
             throw new MissingDataTypeInstallationException(type(), "tools.jackson.dataformat:jackson-dataformat-toml");
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
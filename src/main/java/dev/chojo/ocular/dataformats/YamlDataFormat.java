@@ -39,4 +39,14 @@ public class YamlDataFormat implements DataFormat<YAMLMapper, YAMLMapper.Builder
             throw new MissingDataTypeInstallationException(type(), "tools.jackson.dataformat:jackson-dataformat-yaml");
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o != null && getClass() == o.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
@@ -9,9 +9,15 @@ package dev.chojo.ocular.exceptions;
  * This exception is thrown to indicate an illegal attempt to access a resource
  * or perform an operation that is not allowed due to concurrent or parallel access constraints.
  *
- * <p>For example, it can be thrown by the {@code lock(Key<?> key)} method in the
- * {@code KeyLocks} class when an attempt is made to acquire a lock on a {@code Key}
- * that is already locked by another process or thread.
+ * <p>For example, it is thrown by the {@code lock(Key<?> key)} method in the
+ * {@code KeyLocks} class when a thread would wait for the lock of a {@code Key} that is held by a thread
+ * waiting for a key the current thread holds, which would otherwise block both threads forever.
  */
 public class ParallelAccessException extends RuntimeException {
+    public ParallelAccessException() {
+    }
+
+    public ParallelAccessException(String message) {
+        super(message);
+    }
 }
@@ -0,0 +1,27 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.hooks;
+
+import dev.chojo.ocular.key.Key;
+
+/**
+ * A listener that is notified when the content of a configuration changed on reload.
+ * <p>
+ * Listeners can be registered via {@link dev.chojo.ocular.Configurations#addChangeListener(ChangeListener)}.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+    /**
+     * Called after a configuration was reloaded and its content changed.
+     * <p>
+     * The listener is called on the thread that performed the reload. It is not called if the reloaded content
+     * is equal to the previous one.
+     *
+     * @param key  key of the reloaded configuration
+     * @param diff the changes of the configuration
+     */
+    void onChange(Key<?> key, ConfigDiff diff);
+}
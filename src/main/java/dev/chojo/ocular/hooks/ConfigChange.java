@@ -0,0 +1,40 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.hooks;
+
+import org.jetbrains.annotations.Nullable;
+import tools.jackson.databind.JsonNode;
+
+/**
+ * A single value of a configuration that changed on reload.
+ * <p>
+ * The path is a JSON pointer like {@code /database/host} or {@code /servers/0}.
+ * Objects are compared property by property and arrays of the same size element by element.
+ * Arrays whose size changed are reported as a single change of the whole array.
+ *
+ * @param path     JSON pointer of the changed value
+ * @param oldValue value before the reload or null if the value was added
+ * @param newValue value after the reload or null if the value was removed
+ */
+public record ConfigChange(String path, @Nullable JsonNode oldValue, @Nullable JsonNode newValue) {
+    /**
+     * Checks whether the value was added on reload.
+     *
+     * @return true if the value did not exist before
+     */
+    public boolean added() {
+        return oldValue == null;
+    }
+
+    /**
+     * Checks whether the value was removed on reload.
+     *
+     * @return true if the value does not exist anymore
+     */
+    public boolean removed() {
+        return newValue == null;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.hooks;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The changes of a configuration between two reloads.
+ * <p>
+ * The diff is computed from the serialized trees of the configuration before and after the reload.
+ * Use {@link #changed(String)} to check whether a section of the configuration is affected, before rebuilding
+ * anything that depends on it.
+ */
+public final class ConfigDiff {
+    private final List<ConfigChange> changes;
+
+    private ConfigDiff(List<ConfigChange> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Computes the changes between two trees.
+     * <p>
+     * Both trees are walked once, so the cost is linear in the size of the trees.
+     *
+     * @param oldTree tree before the change
+     * @param newTree tree after the change
+     * @return the diff of both trees
+     */
+    public static ConfigDiff between(JsonNode oldTree, JsonNode newTree) {
+        List<ConfigChange> changes = new ArrayList<>();
+        diff("", oldTree, newTree, changes);
+        return new ConfigDiff(changes);
+    }
+
+    private static void diff(String path, JsonNode oldNode, JsonNode newNode, List<ConfigChange> changes) {
+        if (oldNode == null || newNode == null) {
+            if (oldNode != newNode) changes.add(new ConfigChange(path, oldNode, newNode));
+            return;
+        }
+        if (oldNode.isObject() && newNode.isObject()) {
+            for (Map.Entry<String, JsonNode> entry : oldNode.properties()) {
+                diff(path + "/" + escape(entry.getKey()), entry.getValue(), newNode.get(entry.getKey()), changes);
+            }
+            for (Map.Entry<String, JsonNode> entry : newNode.properties()) {
+                if (oldNode.get(entry.getKey()) == null) {
+                    changes.add(new ConfigChange(path + "/" + escape(entry.getKey()), null, entry.getValue()));
+                }
+            }
+            return;
+        }
+        if (oldNode.isArray() && newNode.isArray() && oldNode.size() == newNode.size()) {
+            for (int i = 0; i < oldNode.size(); i++) {
+                diff(path + "/" + i, oldNode.get(i), newNode.get(i), changes);
+            }
+            return;
+        }
+        if (!oldNode.equals(newNode)) {
+            changes.add(new ConfigChange(path, oldNode, newNode));
+        }
+    }
+
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * All changes of the configuration.
+     *
+     * @return unmodifiable list of changes
+     */
+    public List<ConfigChange> changes() {
+        return changes;
+    }
+
+    /**
+     * Checks whether anything changed.
+     *
+     * @return true if the configuration did not change
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Checks whether the value at the given path or any value below it changed.
+     * <p>
+     * This is also true if a parent of the path was replaced as a whole.
+     *
+     * @param path JSON pointer like {@code /database}
+     * @return true if the value changed
+     */
+    public boolean changed(String path) {
+        for (ConfigChange change : changes) {
+            if (affects(change, path)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The changes of the value at the given path and all values below it.
+     *
+     * @param path JSON pointer like {@code /database}
+     * @return changes affecting the path
+     */
+    public List<ConfigChange> changes(String path) {
+        return changes.stream().filter(change -> affects(change, path)).toList();
+    }
+
+    private static boolean affects(ConfigChange change, String path) {
+        return isWithin(change.path(), path) || isWithin(path, change.path());
+    }
+
+    private static boolean isWithin(String path, String parent) {
+        return path.equals(parent) || parent.isEmpty() || path.startsWith(parent) && path.charAt(parent.length()) == '/';
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigDiff" + changes;
+    }
+}
@@ -15,6 +15,10 @@ import dev.chojo.ocular.Configurations;
 public interface ConfigSubscriber {
     /**
      * This method is invoked after the configuration has been read.
+     * <p>
+     * The hook may access the same or other configurations. If two configurations loaded in parallel access each other
+     * from this hook, one of the loads fails with a {@link dev.chojo.ocular.exceptions.ParallelAccessException}
+     * instead of blocking forever.
      *
      * @param config the configuration object that has been read
      */
@@ -25,9 +29,23 @@ public interface ConfigSubscriber {
      * A hook that is called before writing configurations. This method can be
      * overridden by implementing classes to perform actions prior to a configuration
      * write operation.
+     * <p>
+     * The hook is called while the file is locked. The same rules as for {@link #postRead(Configurations)} apply.
      *
      * @param config the configuration object to be written
      */
     default void preWrite(Configurations<?> config) {
     }
+
+    /**
+     * This method is invoked on the reloaded configuration object after a reload changed its content.
+     * <p>
+     * It is called after {@link #postRead(Configurations)} and only if at least one value changed.
+     * The diff is only computed for classes that override this method.
+     *
+     * @param config the configuration object that has been reloaded
+     * @param diff   the changes of the configuration
+     */
+    default void onChange(Configurations<?> config, ConfigDiff diff) {
+    }
 }
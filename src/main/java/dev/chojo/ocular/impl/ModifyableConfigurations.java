@@ -6,16 +6,24 @@
 package dev.chojo.ocular.impl;
 
 import dev.chojo.ocular.Configurations;
+import dev.chojo.ocular.components.MapperPool;
 import dev.chojo.ocular.dataformats.DataFormat;
+import dev.chojo.ocular.io.Durability;
 import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.override.OverrideConverter;
+import dev.chojo.ocular.override.OverrideSource;
 import org.jetbrains.annotations.NotNull;
 import tools.jackson.databind.JacksonModule;
 import tools.jackson.databind.ObjectMapper;
 import tools.jackson.databind.cfg.MapperBuilder;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 public class ModifyableConfigurations<T> extends Configurations<T> {
@@ -26,6 +34,13 @@ public class ModifyableConfigurations<T> extends Configurations<T> {
     private final Consumer<MapperBuilder<ObjectMapper, ?>> configureBuilder;
     private final Consumer<ObjectMapper> configureMapper;
     private final List<JacksonModule> modules;
+    private final Executor executor;
+    private final Durability durability;
+    private final Boolean inPlaceReload;
+    private final Duration writeBehind;
+    private final Map<Class<?>, OverrideConverter<?>> overrideConverters;
+    private final List<OverrideSource> overrideSources;
+    private final MapperPool mapperPool;
 
 
     public ModifyableConfigurations(Path base, @NotNull Key<T> main, List<DataFormat<?, ?>> formats,
@@ -35,7 +50,11 @@ public class ModifyableConfigurations<T> extends Configurations<T> {
                                     Consumer<MapperBuilder<ObjectMapper, ?>> configureWriterBuilder,
                                     Consumer<ObjectMapper> configureWriterMapper,
                                     Consumer<MapperBuilder<ObjectMapper, ?>> configureBuilder,
-                                    Consumer<ObjectMapper> configureMapper, List<JacksonModule> modules) {
+                                    Consumer<ObjectMapper> configureMapper, List<JacksonModule> modules,
+                                    Executor executor, Durability durability, Boolean inPlaceReload,
+                                    Duration writeBehind,
+                                    Map<Class<?>, OverrideConverter<?>> overrideConverters,
+                                    List<OverrideSource> overrideSources, MapperPool mapperPool) {
         super(base, main, formats, classLoader, parent);
         this.configureReaderBuilder = configureReaderBuilder;
         this.configureReaderMapper = configureReaderMapper;
@@ -44,6 +63,13 @@ public class ModifyableConfigurations<T> extends Configurations<T> {
         this.configureBuilder = configureBuilder;
         this.configureMapper = configureMapper;
         this.modules = modules;
+        this.executor = executor;
+        this.durability = durability;
+        this.inPlaceReload = inPlaceReload;
+        this.writeBehind = writeBehind;
+        this.overrideConverters = overrideConverters;
+        this.overrideSources = overrideSources;
+        this.mapperPool = mapperPool;
     }
 
     @Override
@@ -56,6 +82,73 @@ public class ModifyableConfigurations<T> extends Configurations<T> {
         return modules;
     }
 
+    @Override
+    public Map<Class<?>, OverrideConverter<?>> overrideConverters() {
+        if (parent != null) {
+            Map<Class<?>, OverrideConverter<?>> combined = new HashMap<>(parent.overrideConverters());
+            combined.putAll(overrideConverters);
+            return combined;
+        }
+        return overrideConverters;
+    }
+
+    @Override
+    public List<OverrideSource> overrideSources() {
+        if (parent != null) {
+            List<OverrideSource> combined = new LinkedList<>(parent.overrideSources());
+            combined.addAll(overrideSources);
+            return combined;
+        }
+        return overrideSources;
+    }
+
+    @Override
+    public MapperPool mapperPool() {
+        if (mapperPool != null) {
+            return mapperPool;
+        }
+        return super.mapperPool();
+    }
+
+    @Override
+    public Object mapperConfiguration() {
+        if (getClass() != ModifyableConfigurations.class) return null;
+        return mapperConfiguration(List.of(configureReaderBuilder, configureReaderMapper, configureWriterBuilder,
+                configureWriterMapper, configureBuilder, configureMapper));
+    }
+
+    @Override
+    public Executor executor() {
+        if (executor != null) {
+            return executor;
+        }
+        return super.executor();
+    }
+
+    @Override
+    public Durability durability() {
+        if (durability != null) {
+            return durability;
+        }
+        return super.durability();
+    }
+
+    @Override
+    public boolean inPlaceReload() {
+        if (inPlaceReload != null) {
+            return inPlaceReload;
+        }
+        return super.inPlaceReload();
+    }
+
+    @Override
+    public Duration writeBehind() {
+        if (writeBehind != null) {
+            return writeBehind;
+        }
+        return super.writeBehind();
+    }
+
     @Override
     public void configureReader(ObjectMapper mapper) {
         configureReaderMapper.accept(mapper);
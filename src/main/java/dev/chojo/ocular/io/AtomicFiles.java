@@ -0,0 +1,162 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.io;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Writes files atomically by writing the content to a temporary file in the same directory and moving it into place.
+ * <p>
+ * Readers of the target file either see the previous or the new content, but never a partially written file.
+ */
+public final class AtomicFiles {
+    private static final Logger log = getLogger(AtomicFiles.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINKS = 40;
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Writes the content provided by the writer to the target path.
+     * <p>
+     * Missing parent directories are created. If the writer fails, the target file is left untouched.
+     * Existing POSIX permissions of the target file are kept. A symbolic link is resolved, and the file it points to
+     * is replaced instead of the link. The file a link points to is created if it does not exist.
+     *
+     * @param target     the file to write
+     * @param durability the durability of the write
+     * @param writer     the writer providing the content
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Path target, Durability durability, ContentWriter writer) throws IOException {
+        target = resolveLinks(target);
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = createTemp(directory, target.getFileName().toString());
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                // The writer must not close the channel, since we still need to force it afterward.
+                // The buffer merges small writes of generators into larger writes to the channel.
+                OutputStream out = new UnclosableOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+                writer.write(out);
+                out.flush();
+                if (durability != Durability.NONE) {
+                    channel.force(true);
+                }
+            }
+            copyPermissions(target, temp);
+            move(temp, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (durability == Durability.FILE_AND_DIRECTORY) {
+            forceDirectory(directory);
+        }
+    }
+
+    /**
+     * Follows symbolic links to the file they point to.
+     * <p>
+     * Unlike {@link Path#toRealPath(java.nio.file.LinkOption...)} this works for links pointing to a missing file.
+     */
+    private static Path resolveLinks(Path target) throws IOException {
+        Path current = target;
+        for (int i = 0; i < MAX_LINKS; i++) {
+            if (!Files.isSymbolicLink(current)) return current;
+            // Relative links are relative to the directory containing the link.
+            current = current.toAbsolutePath().getParent().resolve(Files.readSymbolicLink(current)).normalize();
+        }
+        throw new FileSystemException(target.toString(), null, "Too many levels of symbolic links");
+    }
+
+    private static Path createTemp(Path directory, String fileName) throws IOException {
+        while (true) {
+            Path temp = directory.resolve(".%s.%s.tmp".formatted(fileName, Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36)));
+            try {
+                // Unlike Files.createTempFile this uses the default permissions for new files.
+                return Files.createFile(temp);
+            } catch (FileAlreadyExistsException e) {
+                // Try another name
+            }
+        }
+    }
+
+    private static void copyPermissions(Path target, Path temp) {
+        if (!Files.exists(target)) return;
+        try {
+            Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+        } catch (UnsupportedOperationException | IOException e) {
+            // Not a POSIX file system or not permitted. The default permissions will be used.
+        }
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.debug("Atomic move is not supported for {}. Falling back to replacing the file.", target);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories can not be opened or forced on some platforms like windows.
+            log.trace("Could not force directory {}", directory, e);
+        }
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * Writes the content to the stream. The stream does not need to be closed.
+         *
+         * @param out stream of the file
+         * @throws IOException if the content could not be written
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static class UnclosableOutputStream extends FilterOutputStream {
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
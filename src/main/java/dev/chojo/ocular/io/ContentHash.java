@@ -0,0 +1,109 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes hashes of file contents to detect whether a file changed.
+ * <p>
+ * SHA-256 is used, so that two different contents can practically never be mistaken as equal.
+ */
+public final class ContentHash {
+    private static final String ALGORITHM = "SHA-256";
+
+    private ContentHash() {
+    }
+
+    /**
+     * Computes the hash of the content.
+     *
+     * @param content content
+     * @return hash of the content
+     */
+    public static byte[] of(byte[] content) {
+        return digest().digest(content);
+    }
+
+    /**
+     * Computes the hash of the content provided by the writer without keeping the content in memory.
+     *
+     * @param writer the writer providing the content
+     * @return hash of the content
+     * @throws IOException if the writer fails
+     */
+    public static byte[] of(AtomicFiles.ContentWriter writer) throws IOException {
+        HashingWriter hashing = hashing(writer);
+        hashing.write(OutputStream.nullOutputStream());
+        return hashing.hash();
+    }
+
+    /**
+     * Wraps the writer, so that the hash of the content is computed while it is written.
+     *
+     * @param writer the writer providing the content
+     * @return a writer computing the hash of the written content
+     */
+    public static HashingWriter hashing(AtomicFiles.ContentWriter writer) {
+        return new HashingWriter(writer);
+    }
+
+    /**
+     * Compares two hashes.
+     *
+     * @param first  first hash, may be null
+     * @param second second hash, may be null
+     * @return true if both hashes are present and equal
+     */
+    public static boolean equals(byte[] first, byte[] second) {
+        return first != null && second != null && MessageDigest.isEqual(first, second);
+    }
+
+    /**
+     * A writer that computes the hash of the content it writes.
+     */
+    public static final class HashingWriter implements AtomicFiles.ContentWriter {
+        private final AtomicFiles.ContentWriter writer;
+        private final MessageDigest digest = digest();
+        private byte[] hash;
+
+        private HashingWriter(AtomicFiles.ContentWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(OutputStream out) throws IOException {
+            digest.reset();
+            hash = null;
+            try (OutputStream digestOut = new DigestOutputStream(out, digest)) {
+                writer.write(digestOut);
+            }
+            hash = digest.digest();
+        }
+
+        /**
+         * The hash of the content written by the last call of {@link #write(OutputStream)}.
+         *
+         * @return hash of the content or null if nothing was written yet
+         */
+        public byte[] hash() {
+            return hash;
+        }
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every java platform is required to support SHA-256
+            throw new IllegalStateException(ALGORITHM + " is not supported", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.io;
+
+/**
+ * Defines how much effort is spent to make a written configuration file survive a crash of the process or system.
+ * <p>
+ * Files are always written to a temporary file first and moved into place atomically afterward. A crash therefore
+ * never leaves a truncated configuration file behind. The durability only decides whether the data is forced to the
+ * storage device before the write is considered done.
+ */
+public enum Durability {
+    /**
+     * The data is handed to the operating system without forcing it to the storage device.
+     * <p>
+     * This is the fastest mode. A crash of the process is survived, but a power loss or system crash right after
+     * saving may leave the previous version of the file in place.
+     */
+    NONE,
+    /**
+     * The content of the file is forced to the storage device before it is moved into place.
+     */
+    FILE,
+    /**
+     * The content of the file is forced to the storage device before it is moved into place, and the directory is
+     * forced afterward, so that the move itself is durable as well.
+     * <p>
+     * This is the safest and slowest mode. Forcing directories is not supported on every platform and is skipped
+     * silently where it is not.
+     */
+    FILE_AND_DIRECTORY
+}
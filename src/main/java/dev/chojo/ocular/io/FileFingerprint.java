@@ -0,0 +1,94 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.io;
+
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A cheap fingerprint of a file on disk, used to detect whether a file changed since it was last read or written.
+ * <p>
+ * The modification time and size are compared first. Only when those are inconclusive, the content hash is required.
+ * <p>
+ * File systems store modification times with a limited resolution. A file modified within the same tick it was
+ * fingerprinted in might keep its modification time. Fingerprints taken shortly after the last modification are
+ * therefore never trusted based on the metadata alone.
+ *
+ * @param lastModified the modification time of the file
+ * @param size         the size of the file in bytes
+ * @param fileKey      the key identifying the file on its file system or null if not supported
+ * @param contentHash  the hash of the content of the file or null if unknown
+ * @param recorded     the time the fingerprint was taken
+ */
+public record FileFingerprint(FileTime lastModified, long size, Object fileKey, byte[] contentHash, Instant recorded) {
+    /**
+     * The largest modification time resolution of common file systems.
+     */
+    private static final Duration RESOLUTION = Duration.ofSeconds(2);
+
+    /**
+     * Creates a fingerprint for a file, taken now.
+     *
+     * @param attributes  attributes of the file
+     * @param contentHash hash of the content or null if unknown
+     * @return new fingerprint
+     */
+    public static FileFingerprint of(BasicFileAttributes attributes, byte[] contentHash) {
+        return new FileFingerprint(attributes.lastModifiedTime(), attributes.size(), attributes.fileKey(), contentHash, Instant.now());
+    }
+
+    /**
+     * Checks whether the metadata proves that the file did not change.
+     *
+     * @param attributes current attributes of the file
+     * @return true if the file is unchanged. False if it changed or the content needs to be compared.
+     */
+    public boolean unchanged(BasicFileAttributes attributes) {
+        return attributes.size() == size
+               && attributes.lastModifiedTime().equals(lastModified)
+               && lastModified.toInstant().plus(RESOLUTION).isBefore(recorded);
+    }
+
+    /**
+     * Checks whether the attributes are exactly those of the fingerprinted file.
+     * <p>
+     * Unlike {@link #unchanged(BasicFileAttributes)} this trusts the metadata even right after the file was
+     * fingerprinted. It is meant for skipping file system events caused by writing or reading the file itself.
+     * Files are always replaced by a new file when written, so the file key of a foreign replacement differs.
+     * Only a modification in place with the same size within the same modification time tick is not detected.
+     *
+     * @param attributes current attributes of the file
+     * @return true if size, modification time and file key match. Always false if the file system has no file keys.
+     */
+    public boolean matches(BasicFileAttributes attributes) {
+        return fileKey != null
+               && fileKey.equals(attributes.fileKey())
+               && attributes.size() == size
+               && attributes.lastModifiedTime().equals(lastModified);
+    }
+
+    /**
+     * Checks whether the metadata proves that the file changed.
+     *
+     * @param attributes current attributes of the file
+     * @return true if the file changed. False if it is unchanged or the content needs to be compared.
+     */
+    public boolean changed(BasicFileAttributes attributes) {
+        return attributes.size() != size || contentHash == null;
+    }
+
+    /**
+     * Creates a new fingerprint with the same content hash and updated metadata.
+     *
+     * @param attributes current attributes of the file
+     * @return new fingerprint
+     */
+    public FileFingerprint refresh(BasicFileAttributes attributes) {
+        return of(attributes, contentHash);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.io;
+
+import dev.chojo.ocular.exceptions.ConfigurationException;
+import dev.chojo.ocular.key.Key;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Writes files in the background and coalesces repeated saves of the same file.
+ * <p>
+ * The first save of a key schedules a write after the window. Further saves of that key within the window are
+ * merged into the scheduled write. The file is serialized when the write runs, so the latest state is written once.
+ * A save arriving while the file is already being written schedules another write, which starts once the running
+ * write finished. Writes of the same file never overlap.
+ * <p>
+ * Writes run on the given executor. The queue does not own any threads. Scheduled writes are lost when the JVM exits,
+ * so {@link #flush()} should be called on shutdown.
+ */
+public class SaveQueue {
+    private static final Logger log = getLogger(SaveQueue.class);
+    private final Executor delayed;
+    private final Executor executor;
+    private final Predicate<Key<?>> writer;
+    private final Map<Key<?>, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final Map<Key<?>, CompletableFuture<Boolean>> running = new ConcurrentHashMap<>();
+    private final Set<CompletableFuture<Boolean>> unfinished = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new queue.
+     *
+     * @param window   the time to wait for further saves of a file before it is written
+     * @param executor the executor running the writes
+     * @param writer   writes the file of a key and returns true if it was written or false if it was unchanged
+     */
+    public SaveQueue(Duration window, Executor executor, Predicate<Key<?>> writer) {
+        this.delayed = CompletableFuture.delayedExecutor(window.toMillis(), TimeUnit.MILLISECONDS, executor);
+        this.executor = executor;
+        this.writer = writer;
+    }
+
+    /**
+     * Schedules a write of the file of the key.
+     * <p>
+     * If a write of the key is already scheduled, no further write is scheduled.
+     *
+     * @param key key of the file
+     * @return a future that completes with true once the file was written or false if it was unchanged
+     */
+    public CompletableFuture<Boolean> schedule(Key<?> key) {
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> current = pending.putIfAbsent(key, created);
+        if (current != null) return current;
+        unfinished.add(created);
+        created.whenComplete((written, error) -> unfinished.remove(created));
+        delayed.execute(() -> {
+            // The write was taken by flush already.
+            if (!pending.remove(key, created)) return;
+            CompletableFuture<Boolean> previous = start(key, created);
+            if (previous == null) {
+                write(key, created);
+            } else {
+                previous.whenCompleteAsync((written, error) -> write(key, created), executor);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Writes all scheduled files immediately on the calling thread and waits for writes that are already running.
+     * <p>
+     * A scheduled file that is currently being written is written again once the running write finished.
+     *
+     * @throws ConfigurationException if a file could not be written
+     */
+    public void flush() {
+        List<CompletableFuture<Boolean>> waiting = List.copyOf(unfinished);
+        for (Map.Entry<Key<?>, CompletableFuture<Boolean>> entry : pending.entrySet()) {
+            // The entry is removed before writing, so saves arriving afterward schedule a new write.
+            if (!pending.remove(entry.getKey(), entry.getValue())) continue;
+            CompletableFuture<Boolean> previous = start(entry.getKey(), entry.getValue());
+            // Errors of the running write are reported via its own future.
+            if (previous != null) previous.handle((written, error) -> null).join();
+            write(entry.getKey(), entry.getValue());
+        }
+        try {
+            CompletableFuture.allOf(waiting.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ConfigurationException cause) throw cause;
+            throw new ConfigurationException("Could not save configuration files", e.getCause());
+        }
+    }
+
+    /**
+     * Creates a future that completes once all files scheduled so far are written.
+     * <p>
+     * The future completes exceptionally if one of the files could not be written.
+     *
+     * @return future
+     */
+    public CompletableFuture<Void> awaitSaved() {
+        return CompletableFuture.allOf(unfinished.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * The number of files waiting to be written.
+     *
+     * @return number of scheduled writes that did not start yet
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Marks the write as the latest write of the key.
+     *
+     * @return the write it has to wait for or null if no write of the key is running
+     */
+    private CompletableFuture<Boolean> start(Key<?> key, CompletableFuture<Boolean> written) {
+        CompletableFuture<Boolean> previous = running.put(key, written);
+        written.whenComplete((result, error) -> running.remove(key, written));
+        return previous;
+    }
+
+    private void write(Key<?> key, CompletableFuture<Boolean> written) {
+        try {
+            written.complete(writer.test(key));
+        } catch (RuntimeException e) {
+            log.error("Could not save {} in the background.", key, e);
+            written.completeExceptionally(e);
+        }
+    }
+}
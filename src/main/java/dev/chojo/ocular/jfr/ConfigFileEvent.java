@@ -0,0 +1,29 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the events about a single configuration file.
+ */
+public abstract class ConfigFileEvent extends Event implements FileEvent {
+    @Label("Key")
+    public String key;
+    @Label("Path")
+    public String path;
+    @Label("Format")
+    public String format;
+
+    @Override
+    public void commit(String key, String path, String format) {
+        this.key = key;
+        this.path = path;
+        this.format = format;
+        commit();
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reading, parsing and applying the overrides of a configuration file.
+ */
+@Name("dev.chojo.ocular.ConfigLoad")
+@Label("Configuration Load")
+@Category({"Ocular", "Configuration"})
+public class ConfigLoadEvent extends ConfigFileEvent {
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Override
+    public void bytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
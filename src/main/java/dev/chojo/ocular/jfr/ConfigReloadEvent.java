@@ -0,0 +1,26 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Reloading a configuration file. Files that did not change on disk are skipped.
+ */
+@Name("dev.chojo.ocular.ConfigReload")
+@Label("Configuration Reload")
+@Category({"Ocular", "Configuration"})
+public class ConfigReloadEvent extends ConfigFileEvent {
+    @Label("Skipped")
+    public boolean skipped;
+
+    @Override
+    public void skipped() {
+        this.skipped = true;
+    }
+}
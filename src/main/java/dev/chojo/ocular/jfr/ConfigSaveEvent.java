@@ -0,0 +1,35 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Serializing and writing a configuration file. Files that did not change are skipped.
+ */
+@Name("dev.chojo.ocular.ConfigSave")
+@Label("Configuration Save")
+@Category({"Ocular", "Configuration"})
+public class ConfigSaveEvent extends ConfigFileEvent {
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+    @Label("Skipped")
+    public boolean skipped;
+
+    @Override
+    public void bytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void skipped() {
+        this.skipped = true;
+    }
+}
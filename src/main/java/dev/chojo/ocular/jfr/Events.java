@@ -0,0 +1,120 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import java.util.Optional;
+
+/**
+ * Creates the flight recorder events of ocular.
+ * <p>
+ * The {@code jdk.jfr} module is optional. Runtimes without it, or modular applications that do not read it, receive
+ * events that do nothing. The event classes are only loaded once the module was found to be readable.
+ * Every returned event has already begun.
+ */
+public final class Events {
+    private static final boolean AVAILABLE = available();
+
+    private Events() {
+        throw new UnsupportedOperationException("This is a utility class.");
+    }
+
+    /**
+     * @return true if flight recorder events are emitted
+     */
+    public static boolean available() {
+        Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+        return jfr.isPresent() && Events.class.getModule().canRead(jfr.get());
+    }
+
+    /**
+     * @return a begun {@link ConfigLoadEvent}
+     */
+    public static FileEvent load() {
+        return AVAILABLE ? Recorded.load() : None.INSTANCE;
+    }
+
+    /**
+     * @return a begun {@link ConfigSaveEvent}
+     */
+    public static FileEvent save() {
+        return AVAILABLE ? Recorded.save() : None.INSTANCE;
+    }
+
+    /**
+     * @return a begun {@link ConfigReloadEvent}
+     */
+    public static FileEvent reload() {
+        return AVAILABLE ? Recorded.reload() : None.INSTANCE;
+    }
+
+    /**
+     * @param configClass class of the configuration the overrides are applied to
+     * @return a begun {@link OverrideApplyEvent}
+     */
+    public static FileEvent overrideApply(Class<?> configClass) {
+        return AVAILABLE ? Recorded.overrideApply(configClass) : None.INSTANCE;
+    }
+
+    /**
+     * @return a begun {@link MapperBuildEvent}
+     */
+    public static MapperEvent mapperBuild() {
+        return AVAILABLE ? Recorded.mapperBuild() : None.INSTANCE;
+    }
+
+    /**
+     * Links against {@code jdk.jfr} and is therefore only initialized if the module is available.
+     */
+    private static final class Recorded {
+        static FileEvent load() {
+            ConfigLoadEvent event = new ConfigLoadEvent();
+            event.begin();
+            return event;
+        }
+
+        static FileEvent save() {
+            ConfigSaveEvent event = new ConfigSaveEvent();
+            event.begin();
+            return event;
+        }
+
+        static FileEvent reload() {
+            ConfigReloadEvent event = new ConfigReloadEvent();
+            event.begin();
+            return event;
+        }
+
+        static FileEvent overrideApply(Class<?> configClass) {
+            OverrideApplyEvent event = new OverrideApplyEvent();
+            event.configClass = configClass;
+            event.begin();
+            return event;
+        }
+
+        static MapperEvent mapperBuild() {
+            MapperBuildEvent event = new MapperBuildEvent();
+            event.begin();
+            return event;
+        }
+    }
+
+    private enum None implements FileEvent, MapperEvent {
+        INSTANCE;
+
+        @Override
+        public boolean shouldCommit() {
+            return false;
+        }
+
+        @Override
+        public void commit(String key, String path, String format) {
+        }
+
+        @Override
+        public void commit(String format, boolean writer) {
+        }
+    }
+}
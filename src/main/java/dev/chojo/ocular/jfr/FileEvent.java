@@ -0,0 +1,41 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+/**
+ * An event about a single configuration file, obtained from {@link Events}.
+ * <p>
+ * This interface does not depend on {@code jdk.jfr}. If flight recording is not available, the events do nothing.
+ */
+public interface FileEvent {
+    /**
+     * @return true if the event is enabled and the duration passed the threshold
+     */
+    boolean shouldCommit();
+
+    /**
+     * Describes the file and commits the event.
+     *
+     * @param key    name of the configuration key
+     * @param path   path of the file
+     * @param format type of the data format
+     */
+    void commit(String key, String path, String format);
+
+    /**
+     * Sets the size of the file in bytes, if the event records it.
+     *
+     * @param bytes size in bytes
+     */
+    default void bytes(long bytes) {
+    }
+
+    /**
+     * Marks the operation as skipped, if the event records it.
+     */
+    default void skipped() {
+    }
+}
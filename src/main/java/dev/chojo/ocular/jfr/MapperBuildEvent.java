@@ -0,0 +1,31 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Building the reader or writer mapper of a data format.
+ */
+@Name("dev.chojo.ocular.MapperBuild")
+@Label("Mapper Build")
+@Category({"Ocular", "Configuration"})
+public class MapperBuildEvent extends Event implements MapperEvent {
+    @Label("Format")
+    public String format;
+    @Label("Writer")
+    public boolean writer;
+
+    @Override
+    public void commit(String format, boolean writer) {
+        this.format = format;
+        this.writer = writer;
+        commit();
+    }
+}
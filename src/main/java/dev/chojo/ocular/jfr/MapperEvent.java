@@ -0,0 +1,26 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+/**
+ * An event about building a mapper, obtained from {@link Events}.
+ * <p>
+ * This interface does not depend on {@code jdk.jfr}. If flight recording is not available, the event does nothing.
+ */
+public interface MapperEvent {
+    /**
+     * @return true if the event is enabled and the duration passed the threshold
+     */
+    boolean shouldCommit();
+
+    /**
+     * Describes the mapper and commits the event.
+     *
+     * @param format type of the data format
+     * @param writer true for a writer, false for a reader
+     */
+    void commit(String format, boolean writer);
+}
@@ -0,0 +1,21 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Applying the overrides to a configuration object and its nested objects.
+ */
+@Name("dev.chojo.ocular.OverrideApply")
+@Label("Override Application")
+@Category({"Ocular", "Configuration"})
+public class OverrideApplyEvent extends ConfigFileEvent {
+    @Label("Configuration Class")
+    public Class<?> configClass;
+}
@@ -9,31 +9,127 @@ import dev.chojo.ocular.exceptions.ParallelAccessException;
 import dev.chojo.ocular.key.Key;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Coordinates access to single configuration keys.
+ * <p>
+ * Every key has its own lock. Operations on different keys never block each other, while operations on the same key
+ * are executed one after another. Locks are reentrant, so a thread holding the lock of a key may lock it again, e.g.
+ * when a key is reloaded from a hook that is called while the key is loaded. Locks are created on first use and kept
+ * for the lifetime of this instance, since the amount of keys of a configuration is small and stable.
+ * <p>
+ * Threads waiting for a key are checked for cyclic waits. If two threads each hold a key the other one waits for,
+ * e.g. because the hooks of two configurations loaded in parallel access each other, one of them fails with a
+ * {@link ParallelAccessException} instead of blocking forever.
+ */
 public class KeyLocks {
-    private final Set<Key<?>> keys = new HashSet<>();
+    private static final long DEADLOCK_CHECK_MILLIS = 50;
+    private final Map<Key<?>, OwnedLock> keys = new ConcurrentHashMap<>();
+    private final Map<Thread, Key<?>> waiting = new ConcurrentHashMap<>();
 
-    public synchronized KeyLock tryLock(Key<?> key) {
-        synchronized (keys) {
-            if (keys.contains(key)) {
-                return null;
-            }
-            return new KeyLock(key, this);
+    /**
+     * Tries to lock the key without waiting.
+     *
+     * @param key key to lock
+     * @return the lock or {@code null} if the key is currently locked by any thread, including the current one.
+     */
+    public KeyLock tryLock(Key<?> key) {
+        ReentrantLock lock = lockOf(key);
+        if (lock.isHeldByCurrentThread() || !lock.tryLock()) {
+            return null;
         }
+        return new KeyLock(key, this);
     }
 
-    public synchronized KeyLock lock(Key<?> key) {
-        synchronized (keys) {
-            if (keys.contains(key)) {
-                throw new ParallelAccessException();
-            }
+    /**
+     * Locks the key. Waits until the key is released if it is currently locked by another thread.
+     * <p>
+     * The lock is reentrant. Locking a key that is already held by the current thread returns immediately.
+     *
+     * @param key key to lock
+     * @return the lock
+     * @throws ParallelAccessException if waiting for the key would never finish, because the thread holding it
+     *                                 waits for a key held by the current thread
+     */
+    public KeyLock lock(Key<?> key) {
+        OwnedLock lock = lockOf(key);
+        if (lock.tryLock()) {
             return new KeyLock(key, this);
         }
+        Thread current = Thread.currentThread();
+        boolean interrupted = false;
+        waiting.put(current, key);
+        try {
+            while (true) {
+                // The other thread might start waiting after us, so the check is repeated while waiting.
+                Thread blocking = deadlock(key, current);
+                if (blocking != null) {
+                    throw new ParallelAccessException("Waiting for " + key + " would deadlock, since it is held by "
+                                                      + blocking.getName() + " which waits for a key held by "
+                                                      + current.getName());
+                }
+                try {
+                    if (lock.tryLock(DEADLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return new KeyLock(key, this);
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            waiting.remove(current);
+            if (interrupted) current.interrupt();
+        }
+    }
+
+    /**
+     * Checks whether the current thread holds the lock of the key.
+     * <p>
+     * This is the case when the key is accessed again while it is being processed, e.g. when a config is read from
+     * code that is triggered by loading the same config.
+     *
+     * @param key key to check
+     * @return true if the current thread holds the lock
+     */
+    public boolean isHeldByCurrentThread(Key<?> key) {
+        ReentrantLock lock = keys.get(key);
+        return lock != null && lock.isHeldByCurrentThread();
     }
 
     void unlock(Key<?> key) {
-        keys.remove(key);
+        keys.get(key).unlock();
     }
 
+    /**
+     * Follows the owners of the keys and the keys they wait for.
+     *
+     * @return the thread holding the key if the chain leads back to the current thread, otherwise null
+     */
+    private Thread deadlock(Key<?> key, Thread current) {
+        Set<Thread> visited = new HashSet<>();
+        Thread holder = keys.get(key).owner();
+        Key<?> next = key;
+        while (next != null) {
+            Thread owner = keys.get(next).owner();
+            if (owner == null || !visited.add(owner)) return null;
+            if (owner == current) return holder;
+            next = waiting.get(owner);
+        }
+        return null;
+    }
+
+    private OwnedLock lockOf(Key<?> key) {
+        return keys.computeIfAbsent(key, k -> new OwnedLock());
+    }
+
+    private static final class OwnedLock extends ReentrantLock {
+        Thread owner() {
+            return getOwner();
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.metrics;
+
+import dev.chojo.ocular.key.Key;
+
+import java.nio.file.Path;
+
+/**
+ * Receives timings and events of the files managed by a {@link dev.chojo.ocular.Configurations} instance.
+ * <p>
+ * Listeners are called synchronously on the thread doing the work, partially while the lock of the key is held.
+ * Implementations should therefore only record the values and return quickly. All methods do nothing by default.
+ * <p>
+ * {@link ConfigurationMetrics} aggregates the events into counters and histograms.
+ *
+ * @see dev.chojo.ocular.Configurations#addConfigurationListener(ConfigurationListener)
+ */
+public interface ConfigurationListener {
+    /**
+     * Called after a file was read and parsed.
+     *
+     * @param key        configuration key
+     * @param bytes      size of the file
+     * @param readNanos  time spent reading the file
+     * @param parseNanos time spent parsing the content, including the post read hook
+     */
+    default void onRead(Key<?> key, long bytes, long readNanos, long parseNanos) {
+    }
+
+    /**
+     * Called after the overrides were applied to a read configuration.
+     *
+     * @param key   configuration key
+     * @param nanos time spent applying the overrides
+     */
+    default void onOverridesApplied(Key<?> key, long nanos) {
+    }
+
+    /**
+     * Called after a file was written.
+     *
+     * @param key   configuration key
+     * @param nanos time spent serializing and writing the file
+     */
+    default void onWrite(Key<?> key, long nanos) {
+    }
+
+    /**
+     * Called when a file was not written, because its content did not change.
+     *
+     * @param key configuration key
+     */
+    default void onWriteSkipped(Key<?> key) {
+    }
+
+    /**
+     * Called after a file that could not be read was moved to a backup.
+     *
+     * @param key    configuration key
+     * @param backup path of the backup
+     */
+    default void onBackup(Key<?> key, Path backup) {
+    }
+
+    /**
+     * Called when a configuration requested via {@link dev.chojo.ocular.Configurations#secondary(Key)} was already
+     * loaded.
+     *
+     * @param key configuration key
+     */
+    default void onCacheHit(Key<?> key) {
+    }
+
+    /**
+     * Called when a configuration requested via {@link dev.chojo.ocular.Configurations#secondary(Key)} had to be
+     * loaded.
+     *
+     * @param key configuration key
+     */
+    default void onCacheMiss(Key<?> key) {
+    }
+
+    /**
+     * Called after a file was reloaded.
+     *
+     * @param key   configuration key
+     * @param nanos time spent reloading the file, including reading, parsing and applying overrides
+     */
+    default void onReload(Key<?> key, long nanos) {
+    }
+
+    /**
+     * Called when a reload was skipped, because the file did not change on disk.
+     *
+     * @param key configuration key
+     */
+    default void onReloadSkipped(Key<?> key) {
+    }
+}
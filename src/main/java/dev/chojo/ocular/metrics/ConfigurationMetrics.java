@@ -0,0 +1,128 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.metrics;
+
+import dev.chojo.ocular.key.Key;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the events of {@link dev.chojo.ocular.Configurations} per key into counters and histograms.
+ * <p>
+ * Register it via {@link dev.chojo.ocular.Configurations#addConfigurationListener(ConfigurationListener)} and read
+ * the current values via {@link #snapshot()}. Recording is lock free and can be shared by multiple instances.
+ */
+public final class ConfigurationMetrics implements ConfigurationListener {
+    private final Map<Key<?>, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current metrics of all keys with at least one recorded event.
+     *
+     * @return unmodifiable map of the metrics by key
+     */
+    public Map<Key<?>, KeyMetrics> snapshot() {
+        Map<Key<?>, KeyMetrics> snapshot = new HashMap<>();
+        recorders.forEach((key, recorder) -> snapshot.put(key, recorder.snapshot(key)));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns the current metrics of the key.
+     *
+     * @param key configuration key
+     * @return the metrics or null if no event was recorded for the key
+     */
+    public KeyMetrics snapshot(Key<?> key) {
+        Recorder recorder = recorders.get(key);
+        return recorder == null ? null : recorder.snapshot(key);
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        recorders.clear();
+    }
+
+    private Recorder recorder(Key<?> key) {
+        Recorder recorder = recorders.get(key);
+        if (recorder != null) return recorder;
+        return recorders.computeIfAbsent(key, k -> new Recorder());
+    }
+
+    @Override
+    public void onRead(Key<?> key, long bytes, long readNanos, long parseNanos) {
+        Recorder recorder = recorder(key);
+        recorder.bytesRead.add(bytes);
+        recorder.read.record(readNanos);
+        recorder.parse.record(parseNanos);
+    }
+
+    @Override
+    public void onOverridesApplied(Key<?> key, long nanos) {
+        recorder(key).overrides.record(nanos);
+    }
+
+    @Override
+    public void onWrite(Key<?> key, long nanos) {
+        recorder(key).write.record(nanos);
+    }
+
+    @Override
+    public void onWriteSkipped(Key<?> key) {
+        recorder(key).writesSkipped.increment();
+    }
+
+    @Override
+    public void onBackup(Key<?> key, Path backup) {
+        recorder(key).backups.increment();
+    }
+
+    @Override
+    public void onCacheHit(Key<?> key) {
+        recorder(key).cacheHits.increment();
+    }
+
+    @Override
+    public void onCacheMiss(Key<?> key) {
+        recorder(key).cacheMisses.increment();
+    }
+
+    @Override
+    public void onReload(Key<?> key, long nanos) {
+        recorder(key).reload.record(nanos);
+    }
+
+    @Override
+    public void onReloadSkipped(Key<?> key) {
+        recorder(key).reloadsSkipped.increment();
+    }
+
+    private static final class Recorder {
+        private final LongAdder bytesRead = new LongAdder();
+        private final TimingHistogram read = new TimingHistogram();
+        private final TimingHistogram parse = new TimingHistogram();
+        private final TimingHistogram overrides = new TimingHistogram();
+        private final TimingHistogram write = new TimingHistogram();
+        private final LongAdder writesSkipped = new LongAdder();
+        private final TimingHistogram reload = new TimingHistogram();
+        private final LongAdder reloadsSkipped = new LongAdder();
+        private final LongAdder backups = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+
+        KeyMetrics snapshot(Key<?> key) {
+            return new KeyMetrics(key, bytesRead.sum(), read.snapshot(), parse.snapshot(), overrides.snapshot(),
+                    write.snapshot(), writesSkipped.sum(), reload.snapshot(), reloadsSkipped.sum(), backups.sum(),
+                    cacheHits.sum(), cacheMisses.sum());
+        }
+    }
+}
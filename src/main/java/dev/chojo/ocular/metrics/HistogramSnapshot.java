@@ -0,0 +1,44 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.metrics;
+
+/**
+ * The state of a histogram of durations at the time the snapshot was taken.
+ *
+ * @param count      number of recorded durations
+ * @param totalNanos sum of all recorded durations
+ * @param maxNanos   largest recorded duration
+ * @param buckets    number of durations per bucket
+ */
+public record HistogramSnapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+    /**
+     * The average duration.
+     *
+     * @return average in nanoseconds or 0 if nothing was recorded
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Estimates the duration that the given share of all recorded durations did not exceed.
+     * <p>
+     * The result overestimates the actual value by at most 12.5%, but never exceeds the maximum.
+     *
+     * @param quantile quantile between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return duration in nanoseconds or 0 if nothing was recorded
+     */
+    public long percentileNanos(double quantile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) return Math.min(TimingHistogram.upperBound(i), maxNanos);
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.metrics;
+
+import dev.chojo.ocular.key.Key;
+
+/**
+ * The metrics of a single configuration file at the time the snapshot was taken.
+ *
+ * @param key            configuration key
+ * @param bytesRead      total number of bytes read
+ * @param read           time spent reading the file
+ * @param parse          time spent parsing the file
+ * @param overrides      time spent applying overrides
+ * @param write          time spent writing the file
+ * @param writesSkipped  number of writes skipped, because the file did not change
+ * @param reload         time spent reloading the file
+ * @param reloadsSkipped number of reloads skipped, because the file did not change on disk
+ * @param backups        number of backups of files that could not be read
+ * @param cacheHits      number of requests of the already loaded configuration
+ * @param cacheMisses    number of requests that loaded the configuration
+ */
+public record KeyMetrics(Key<?> key,
+                         long bytesRead,
+                         HistogramSnapshot read,
+                         HistogramSnapshot parse,
+                         HistogramSnapshot overrides,
+                         HistogramSnapshot write,
+                         long writesSkipped,
+                         HistogramSnapshot reload,
+                         long reloadsSkipped,
+                         long backups,
+                         long cacheHits,
+                         long cacheMisses) {
+}
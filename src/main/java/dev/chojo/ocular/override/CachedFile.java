@@ -0,0 +1,51 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import dev.chojo.ocular.io.ContentHash;
+import dev.chojo.ocular.io.FileFingerprint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Function;
+
+/**
+ * The parsed content of a file, which is parsed again only after the file changed.
+ * <p>
+ * Changes are detected via a {@link FileFingerprint}. A file modified within the modification time resolution of the
+ * file system is compared by its content, so a rewrite with the same size is detected as well.
+ *
+ * @param fingerprint fingerprint of the file when it was parsed
+ * @param value       parsed content
+ * @param <T>         type of the parsed content
+ */
+record CachedFile<T>(FileFingerprint fingerprint, T value) {
+    /**
+     * Returns the parsed content of the file.
+     *
+     * @param file       the file
+     * @param attributes current attributes of the file
+     * @param previous   the previously parsed content or null
+     * @param parser     parses the content of the file
+     * @param <T>        type of the parsed content
+     * @return the previous content if the file did not change, otherwise the newly parsed content
+     * @throws IOException if the file could not be read
+     */
+    static <T> CachedFile<T> read(Path file, BasicFileAttributes attributes, CachedFile<T> previous,
+                                  Function<String, T> parser) throws IOException {
+        FileFingerprint fingerprint = previous == null ? null : previous.fingerprint();
+        if (fingerprint != null && fingerprint.unchanged(attributes)) return previous;
+        byte[] content = Files.readAllBytes(file);
+        byte[] hash = ContentHash.of(content);
+        if (fingerprint != null && !fingerprint.changed(attributes) && ContentHash.equals(hash, fingerprint.contentHash())) {
+            return new CachedFile<>(fingerprint.refresh(attributes), previous.value());
+        }
+        return new CachedFile<>(FileFingerprint.of(attributes, hash), parser.apply(new String(content, StandardCharsets.UTF_8)));
+    }
+}
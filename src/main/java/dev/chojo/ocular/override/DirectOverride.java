@@ -0,0 +1,39 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+/**
+ * A {@link ValueSupplier} that applies its overrides to the configuration object directly.
+ * <p>
+ * Implementations are generated by {@link dev.chojo.ocular.processor.OcularProcessor} when the processor option
+ * {@value dev.chojo.ocular.processor.OcularProcessor#DIRECT_APPLY} is enabled and every annotated member of the
+ * config class can be accessed from the generated class. The generated {@link #apply(Object)} parses the values
+ * with the parser of the member type and assigns fields or calls setters directly. No reflection is involved.
+ * <p>
+ * {@link OverrideApplier} prefers {@link #apply(Object)} over the reflective application when it is given
+ * such a supplier. If custom {@link OverrideConverters converters} are registered for a type the generated code
+ * converts itself, {@link OverrideSuppliers} uses the reflective application instead, so the converters are honored.
+ *
+ * @param <T> type of the configuration
+ */
+public interface DirectOverride<T> extends ValueSupplier {
+    /**
+     * The configuration class the overrides belong to.
+     *
+     * @return configuration class
+     */
+    Class<T> type();
+
+    /**
+     * Applies all override values found at construction time to the configuration object.
+     * <p>
+     * Values that can not be converted are reported via {@link OverrideApplier#conversionFailed(String, RuntimeException)}
+     * and skipped.
+     *
+     * @param config configuration object
+     */
+    void apply(T config);
+}
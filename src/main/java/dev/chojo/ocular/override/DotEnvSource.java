@@ -0,0 +1,107 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Environment variables read from a {@code .env} file.
+ *
+ * @see OverrideSource#dotEnv(Path)
+ */
+final class DotEnvSource implements OverrideSource {
+    /**
+     * The default interval between two checks of the file for modifications.
+     */
+    static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+    private static final Logger log = getLogger(DotEnvSource.class);
+    private static final CachedFile<Map<String, String>> MISSING = new CachedFile<>(null, Map.of());
+    private final Path file;
+    private final long checkInterval;
+    private volatile Snapshot snapshot;
+
+    DotEnvSource(Path file, Duration checkInterval) {
+        this.file = file;
+        this.checkInterval = checkInterval.toNanos();
+    }
+
+    @Override
+    public String env(String name) {
+        return current().get(name);
+    }
+
+    @Override
+    public String property(String name) {
+        return null;
+    }
+
+    /**
+     * Returns the parsed file. The file is checked at most once per interval and parsed again only if it changed.
+     */
+    private Map<String, String> current() {
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (current != null && now - current.checked() < checkInterval) return current.file().value();
+        // Concurrent callers might check the file twice, which is harmless.
+        CachedFile<Map<String, String>> previous = current == null ? null : current.file();
+        CachedFile<Map<String, String>> read;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            read = CachedFile.read(file, attributes, previous == MISSING ? null : previous, DotEnvSource::parse);
+        } catch (NoSuchFileException e) {
+            read = MISSING;
+        } catch (IOException e) {
+            log.warn("Could not read {}: {}", file, e.getMessage());
+            read = previous == null ? MISSING : previous;
+        }
+        snapshot = new Snapshot(read, now);
+        return read.value();
+    }
+
+    private static Map<String, String> parse(String content) {
+        Map<String, String> values = new HashMap<>();
+        for (String line : content.split("\r?\n")) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            if (line.startsWith("export ")) line = line.substring(7).stripLeading();
+            int separator = line.indexOf('=');
+            if (separator <= 0) continue;
+            String name = line.substring(0, separator).strip();
+            values.put(name, value(line.substring(separator + 1).strip()));
+        }
+        return values;
+    }
+
+    private static String value(String raw) {
+        if (raw.length() >= 2) {
+            char quote = raw.charAt(0);
+            if ((quote == '"' || quote == '\'') && raw.indexOf(quote, 1) > 0) {
+                String value = raw.substring(1, raw.indexOf(quote, 1));
+                return quote == '"' ? value.replace("\\n", "\n") : value;
+            }
+        }
+        // Unquoted values end at an inline comment.
+        int comment = raw.indexOf(" #");
+        return comment < 0 ? raw : raw.substring(0, comment).stripTrailing();
+    }
+
+    /**
+     * The parsed file and the time it was last checked for modifications.
+     */
+    private record Snapshot(CachedFile<Map<String, String>> file, long checked) {
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+/**
+ * Converts the string value of an override into the type of the field or parameter it is applied to.
+ * <p>
+ * Converters are resolved once per target by the {@link OverrideConverters registry}, so applying an override
+ * does not inspect the target type again.
+ *
+ * @param <T> type the value is converted to
+ */
+@FunctionalInterface
+public interface OverrideConverter<T> {
+    /**
+     * Converts the override value.
+     *
+     * @param value the value provided by the {@link ValueSupplier}
+     * @return the converted value
+     * @throws IllegalArgumentException if the value can not be converted
+     */
+    T convert(String value);
+}
@@ -0,0 +1,330 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A registry of {@link OverrideConverter converters} keyed by target type.
+ * <p>
+ * The following types are supported out of the box:
+ * <ul>
+ *   <li>All primitives, their boxed equivalents and {@link String}</li>
+ *   <li>{@link BigDecimal}, {@link BigInteger}, {@link Duration}, {@link Path} and {@link URI}</li>
+ *   <li>Enums, matched case-insensitive</li>
+ *   <li>Arrays, {@link List} and {@link Set} of supported types as comma-separated values.
+ *       Primitive arrays are filled without boxing.</li>
+ *   <li>{@link Map} of supported types as comma-separated {@code key=value} pairs</li>
+ * </ul>
+ * Custom converters can be registered via {@link #register(Class, OverrideConverter)}. They take precedence over
+ * the built-in converters. If a fallback mapper is set, every other type is converted by Jackson. JSON objects and
+ * arrays are read as such, while any other value is converted as a plain string.
+ * <p>
+ * Resolved converters are cached per type.
+ */
+public final class OverrideConverters {
+    private static final OverrideConverters DEFAULTS = new OverrideConverters(Map.of(), null);
+    private final Map<Class<?>, OverrideConverter<?>> custom;
+    private final Supplier<? extends ObjectMapper> fallback;
+    private final Map<Type, ConverterHolder> cache = new ConcurrentHashMap<>();
+
+    private OverrideConverters(Map<Class<?>, OverrideConverter<?>> custom, Supplier<? extends ObjectMapper> fallback) {
+        this.custom = custom;
+        this.fallback = fallback;
+    }
+
+    /**
+     * The built-in converters without custom converters and without a fallback.
+     *
+     * @return default converters
+     */
+    public static OverrideConverters defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Creates a registry with custom converters and a fallback mapper.
+     *
+     * @param custom   custom converters by target type
+     * @param fallback supplier of the mapper used for types without converter or null to not support those types.
+     *                 The mapper has to read JSON, since objects and arrays are given as JSON.
+     * @return new registry
+     */
+    public static OverrideConverters of(Map<Class<?>, OverrideConverter<?>> custom, Supplier<? extends ObjectMapper> fallback) {
+        return new OverrideConverters(Map.copyOf(custom), fallback);
+    }
+
+    /**
+     * Creates a copy of this registry with an additional converter.
+     *
+     * @param type      target type
+     * @param converter converter of the target type
+     * @param <T>       target type
+     * @return new registry
+     */
+    public <T> OverrideConverters register(Class<T> type, OverrideConverter<? extends T> converter) {
+        Map<Class<?>, OverrideConverter<?>> converters = new HashMap<>(custom);
+        converters.put(type, converter);
+        return new OverrideConverters(Map.copyOf(converters), fallback);
+    }
+
+    /**
+     * Checks whether a custom converter is registered for the type.
+     *
+     * @param type target type
+     * @return true if a custom converter takes precedence over the built-in converter of the type
+     */
+    public boolean hasCustom(Class<?> type) {
+        return custom.containsKey(type);
+    }
+
+    /**
+     * Resolves the converter for the given target type.
+     *
+     * @param type        raw type of the target
+     * @param genericType generic type of the target
+     * @return the converter or null if the type is not supported
+     */
+    public OverrideConverter<?> forType(Class<?> type, Type genericType) {
+        // Holders allow caching unsupported types as well.
+        // Resolving recurses into element types, so it can not happen inside computeIfAbsent.
+        ConverterHolder holder = cache.get(genericType);
+        if (holder == null) {
+            holder = new ConverterHolder(resolve(type, genericType));
+            cache.putIfAbsent(genericType, holder);
+        }
+        return holder.converter();
+    }
+
+    private OverrideConverter<?> resolve(Class<?> type, Type genericType) {
+        OverrideConverter<?> converter = custom.get(type);
+        if (converter != null) return converter;
+        converter = builtIn(type, genericType);
+        if (converter != null) return converter;
+        if (fallback != null && type != Object.class) return jackson(genericType);
+        return null;
+    }
+
+    private OverrideConverter<?> builtIn(Class<?> type, Type genericType) {
+        // Environment variables and system properties are always strings, so we need to parse
+        // them into the correct Java type. For example, the string "8080" becomes the int 8080.
+        if (type == String.class) return value -> value;
+        if (type == int.class || type == Integer.class) return Integer::parseInt;
+        if (type == long.class || type == Long.class) return Long::parseLong;
+        if (type == boolean.class || type == Boolean.class) return Boolean::parseBoolean;
+        if (type == double.class || type == Double.class) return Double::parseDouble;
+        if (type == float.class || type == Float.class) return Float::parseFloat;
+        if (type == short.class || type == Short.class) return Short::parseShort;
+        if (type == byte.class || type == Byte.class) return Byte::parseByte;
+        if (type == char.class || type == Character.class) return OverrideConverters::parseChar;
+        if (type == BigDecimal.class) return BigDecimal::new;
+        if (type == BigInteger.class) return BigInteger::new;
+        if (type == Duration.class) return OverrideConverters::parseDuration;
+        if (type == Path.class) return Path::of;
+        if (type == URI.class) return URI::create;
+        if (type.isEnum()) return enumConverter(type);
+        if (type.isArray()) return arrayConverter(type.getComponentType());
+
+        if (type == List.class || type == ArrayList.class) {
+            OverrideConverter<?> element = typeArgument(genericType, 0);
+            if (element == null) return null;
+            return value -> {
+                List<Object> list = new ArrayList<>();
+                for (String part : split(value)) list.add(element.convert(part));
+                return list;
+            };
+        }
+        if (type == Set.class || type == HashSet.class || type == LinkedHashSet.class) {
+            OverrideConverter<?> element = typeArgument(genericType, 0);
+            if (element == null) return null;
+            return value -> {
+                Set<Object> set = type == HashSet.class ? new HashSet<>() : new LinkedHashSet<>();
+                for (String part : split(value)) set.add(element.convert(part));
+                return set;
+            };
+        }
+        if (type == Map.class || type == HashMap.class || type == LinkedHashMap.class) {
+            OverrideConverter<?> key = typeArgument(genericType, 0);
+            OverrideConverter<?> val = typeArgument(genericType, 1);
+            if (key == null || val == null) return null;
+            return value -> {
+                Map<Object, Object> map = type == HashMap.class ? new HashMap<>() : new LinkedHashMap<>();
+                for (String part : split(value)) {
+                    if (part.isEmpty()) continue;
+                    int separator = part.indexOf('=');
+                    if (separator < 0) throw new IllegalArgumentException("Expected key=value but got " + part);
+                    map.put(key.convert(part.substring(0, separator).trim()), val.convert(part.substring(separator + 1).trim()));
+                }
+                return map;
+            };
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the converter of a type argument, e.g. {@code Integer} of {@code List<Integer>}.
+     * Raw types use strings.
+     */
+    private OverrideConverter<?> typeArgument(Type genericType, int index) {
+        if (!(genericType instanceof ParameterizedType parameterized)) return forType(String.class, String.class);
+        Type argument = parameterized.getActualTypeArguments()[index];
+        if (argument instanceof Class<?> cls) return forType(cls, cls);
+        if (argument instanceof ParameterizedType nested && nested.getRawType() instanceof Class<?> raw) {
+            return forType(raw, nested);
+        }
+        return null;
+    }
+
+    private OverrideConverter<?> arrayConverter(Class<?> component) {
+        // Primitive arrays are filled directly, which avoids boxing every element.
+        if (component == int.class) return value -> {
+            String[] parts = split(value);
+            int[] array = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Integer.parseInt(parts[i]);
+            return array;
+        };
+        if (component == long.class) return value -> {
+            String[] parts = split(value);
+            long[] array = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Long.parseLong(parts[i]);
+            return array;
+        };
+        if (component == double.class) return value -> {
+            String[] parts = split(value);
+            double[] array = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Double.parseDouble(parts[i]);
+            return array;
+        };
+        if (component == float.class) return value -> {
+            String[] parts = split(value);
+            float[] array = new float[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Float.parseFloat(parts[i]);
+            return array;
+        };
+        if (component == boolean.class) return value -> {
+            String[] parts = split(value);
+            boolean[] array = new boolean[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Boolean.parseBoolean(parts[i]);
+            return array;
+        };
+        if (component == short.class) return value -> {
+            String[] parts = split(value);
+            short[] array = new short[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Short.parseShort(parts[i]);
+            return array;
+        };
+        if (component == byte.class) return value -> {
+            String[] parts = split(value);
+            byte[] array = new byte[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = Byte.parseByte(parts[i]);
+            return array;
+        };
+        if (component == char.class) return value -> {
+            String[] parts = split(value);
+            char[] array = new char[parts.length];
+            for (int i = 0; i < parts.length; i++) array[i] = parseChar(parts[i]);
+            return array;
+        };
+        OverrideConverter<?> element = forType(component, component);
+        if (element == null) return null;
+        return value -> {
+            String[] parts = split(value);
+            Object[] array = (Object[]) Array.newInstance(component, parts.length);
+            for (int i = 0; i < parts.length; i++) array[i] = element.convert(parts[i]);
+            return array;
+        };
+    }
+
+    private static OverrideConverter<?> enumConverter(Class<?> type) {
+        Map<String, Enum<?>> constants = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            Enum<?> value = (Enum<?>) constant;
+            constants.put(value.name().toUpperCase(Locale.ROOT), value);
+        }
+        return value -> {
+            Enum<?> constant = constants.get(value.trim().toUpperCase(Locale.ROOT));
+            if (constant == null) throw new IllegalArgumentException("No constant " + value + " in " + type.getSimpleName());
+            return constant;
+        };
+    }
+
+    private OverrideConverter<?> jackson(Type genericType) {
+        return new OverrideConverter<>() {
+            private volatile JavaType javaType;
+
+            @Override
+            public Object convert(String value) {
+                ObjectMapper mapper = fallback.get();
+                JavaType target = javaType;
+                if (target == null) javaType = target = mapper.constructType(genericType);
+                String trimmed = value.trim();
+                if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                    return mapper.readValue(trimmed, target);
+                }
+                return mapper.convertValue(value, target);
+            }
+        };
+    }
+
+    private static String[] split(String value) {
+        String[] parts = value.split(",", -1);
+        for (int i = 0; i < parts.length; i++) parts[i] = parts[i].trim();
+        return parts;
+    }
+
+    private static char parseChar(String value) {
+        if (value.length() != 1) throw new IllegalArgumentException("Expected a single character but got " + value);
+        return value.charAt(0);
+    }
+
+    /**
+     * Parses a duration either in the ISO-8601 format like {@code PT30S} or as a number with a unit like
+     * {@code 30s}. Supported units are {@code ms}, {@code s}, {@code m}, {@code h} and {@code d}.
+     */
+    private static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("P") || trimmed.startsWith("p") || trimmed.startsWith("-P")) {
+            return Duration.parse(trimmed);
+        }
+        int unitStart = 0;
+        while (unitStart < trimmed.length() && (Character.isDigit(trimmed.charAt(unitStart)) || trimmed.charAt(unitStart) == '-')) {
+            unitStart++;
+        }
+        long amount = Long.parseLong(trimmed.substring(0, unitStart));
+        return switch (trimmed.substring(unitStart).trim().toLowerCase(Locale.ROOT)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            case "d" -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException("Unknown duration " + value);
+        };
+    }
+
+    private record ConverterHolder(OverrideConverter<?> converter) {
+    }
+}
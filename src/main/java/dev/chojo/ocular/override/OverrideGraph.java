@@ -0,0 +1,248 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * The precomputed paths from a config class to every nested object that has overrides.
+ * <p>
+ * A graph node exists per class. It knows whether the class itself has a generated supplier and which of its fields
+ * lead to nested objects with overrides. Fields holding config objects directly, in collections, in map values,
+ * in arrays or in optionals are followed. Records are followed as well, although their own components can not be
+ * overridden. Fields that can not lead to any override are not part of the graph, so a class without nested
+ * overrides is applied exactly like before.
+ * <p>
+ * Nested objects are resolved by the declared type of the field. Each nested object receives the overrides of its
+ * own class, so every instance of a class gets the same values.
+ */
+final class OverrideGraph {
+    private static final Logger log = getLogger(OverrideGraph.class);
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final Class<?> type;
+    private final boolean overridden;
+    private final List<Child> children = new ArrayList<>();
+
+    private OverrideGraph(Class<?> type, boolean overridden) {
+        this.type = type;
+        this.overridden = overridden;
+    }
+
+    /**
+     * Builds the graphs of the given class and every class reachable from it.
+     *
+     * @param root         root config class
+     * @param hasOverrides checks whether a class has a generated supplier
+     * @return the graphs of all visited classes by class
+     */
+    static Map<Class<?>, OverrideGraph> build(Class<?> root, Predicate<Class<?>> hasOverrides) {
+        Map<Class<?>, OverrideGraph> graphs = new HashMap<>();
+        List<OverrideGraph> pending = new ArrayList<>();
+        OverrideGraph rootGraph = node(root, hasOverrides, graphs);
+        if (!isConfigClass(root)) return graphs;
+        pending.add(rootGraph);
+        // Every class is visited once. Cyclic references point to the already created node.
+        while (!pending.isEmpty()) {
+            OverrideGraph graph = pending.remove(pending.size() - 1);
+            for (Class<?> current = graph.type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+                    Child child = child(field, hasOverrides, graphs, pending);
+                    if (child != null) graph.children.add(child);
+                }
+            }
+        }
+        prune(graphs.values());
+        return graphs;
+    }
+
+    private static OverrideGraph node(Class<?> type, Predicate<Class<?>> hasOverrides, Map<Class<?>, OverrideGraph> graphs) {
+        return graphs.computeIfAbsent(type, k -> new OverrideGraph(k, hasOverrides.test(k)));
+    }
+
+    private static Child child(Field field, Predicate<Class<?>> hasOverrides, Map<Class<?>, OverrideGraph> graphs, List<OverrideGraph> pending) {
+        Shape shape = Shape.of(field.getType());
+        Class<?> target = shape.target(field.getType(), field.getGenericType());
+        if (target == null || !isConfigClass(target)) return null;
+        boolean known = graphs.containsKey(target);
+        OverrideGraph graph = node(target, hasOverrides, graphs);
+        if (!known) pending.add(graph);
+        try {
+            field.setAccessible(true);
+            MethodHandle getter = MethodHandles.lookup().unreflectGetter(field).asType(GETTER);
+            return new Child(field.getName(), getter, shape, graph);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Nested overrides of field {} in {} are not accessible: {}", field.getName(), field.getDeclaringClass().getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Classes of the JDK, enums, interfaces and primitives are never walked.
+     */
+    private static boolean isConfigClass(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !type.isEnum() && !type.isInterface()
+               && type.getClassLoader() != null;
+    }
+
+    /**
+     * Removes all children that do not lead to any override.
+     */
+    private static void prune(Iterable<OverrideGraph> graphs) {
+        Set<OverrideGraph> reaching = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (OverrideGraph graph : graphs) {
+            if (graph.overridden) reaching.add(graph);
+        }
+        // Propagate until nothing changes. This terminates on cyclic graphs as well.
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (OverrideGraph graph : graphs) {
+                if (reaching.contains(graph)) continue;
+                for (Child child : graph.children) {
+                    if (reaching.contains(child.graph())) {
+                        changed = reaching.add(graph);
+                        break;
+                    }
+                }
+            }
+        }
+        for (OverrideGraph graph : graphs) {
+            graph.children.removeIf(child -> !reaching.contains(child.graph()));
+        }
+    }
+
+    /**
+     * Checks whether neither the class nor any nested object has overrides.
+     *
+     * @return true if there is nothing to apply
+     */
+    boolean isEmpty() {
+        return !overridden && children.isEmpty();
+    }
+
+    /**
+     * Applies the overrides of the object and all nested objects.
+     *
+     * @param object    object of the class of this graph
+     * @param suppliers creates the supplier of a class. Called at most once per class.
+     * @param applier   applies the values of a supplier to an object
+     */
+    void apply(Object object, Function<Class<?>, Optional<ValueSupplier>> suppliers, BiConsumer<Object, ValueSupplier> applier) {
+        Map<Class<?>, Optional<ValueSupplier>> created = new HashMap<>();
+        apply(object, "", clazz -> created.computeIfAbsent(clazz, suppliers), applier, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void apply(Object object, String path, Function<Class<?>, Optional<ValueSupplier>> suppliers,
+                       BiConsumer<Object, ValueSupplier> applier, Set<Object> visited) {
+        // Objects referenced multiple times or in cycles receive their overrides once.
+        if (object == null || !visited.add(object)) return;
+        if (overridden) {
+            suppliers.apply(type).ifPresent(supplier -> applier.accept(object, supplier));
+        }
+        for (Child child : children) {
+            Object value;
+            try {
+                value = child.getter().invokeExact(object);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                log.warn("Could not read {}{} to apply nested overrides: {}", path, child.name(), e.getMessage());
+                continue;
+            }
+            String childPath = path + child.name() + ".";
+            child.shape().forEach(value, nested -> child.graph().apply(nested, childPath, suppliers, applier, visited));
+        }
+    }
+
+    /**
+     * A field leading to nested objects.
+     *
+     * @param name   name of the field
+     * @param getter getter of the shape {@code (Object)Object}
+     * @param shape  how the nested objects are held by the field
+     * @param graph  graph of the nested objects
+     */
+    private record Child(String name, MethodHandle getter, Shape shape, OverrideGraph graph) {
+    }
+
+    /**
+     * How nested objects are held by a field.
+     */
+    private enum Shape {
+        VALUE, ITERABLE, MAP, ARRAY, OPTIONAL;
+
+        static Shape of(Class<?> type) {
+            if (Iterable.class.isAssignableFrom(type)) return ITERABLE;
+            if (Map.class.isAssignableFrom(type)) return MAP;
+            if (type.isArray()) return ARRAY;
+            if (type == Optional.class) return OPTIONAL;
+            return VALUE;
+        }
+
+        /**
+         * Resolves the class of the nested objects.
+         *
+         * @return the class or null if it can not be determined
+         */
+        Class<?> target(Class<?> type, Type genericType) {
+            return switch (this) {
+                case VALUE -> type;
+                case ARRAY -> type.getComponentType();
+                case ITERABLE, OPTIONAL -> typeArgument(genericType, 0);
+                case MAP -> typeArgument(genericType, 1);
+            };
+        }
+
+        private static Class<?> typeArgument(Type genericType, int index) {
+            if (genericType instanceof ParameterizedType parameterized) {
+                Type[] arguments = parameterized.getActualTypeArguments();
+                if (arguments.length > index) {
+                    Type argument = arguments[index];
+                    if (argument instanceof Class<?> clazz) return clazz;
+                    if (argument instanceof ParameterizedType nested && nested.getRawType() instanceof Class<?> raw) return raw;
+                }
+            }
+            return null;
+        }
+
+        void forEach(Object value, Consumer<Object> action) {
+            if (value == null) return;
+            switch (this) {
+                case VALUE -> action.accept(value);
+                case ITERABLE -> ((Iterable<?>) value).forEach(action);
+                case MAP -> ((Map<?, ?>) value).values().forEach(action);
+                case ARRAY -> {
+                    for (Object element : (Object[]) value) action.accept(element);
+                }
+                case OPTIONAL -> ((Optional<?>) value).ifPresent(action);
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import org.slf4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * The precomputed way of applying overrides to instances of a single class.
+ * <p>
+ * All reflective work is done once when the plan is created: the fields and methods of the class are collected,
+ * made accessible and turned into {@link MethodHandle setters}, and a {@link OverrideConverter converter} is resolved
+ * for each target type from the {@link OverrideConverters registry}. Plans are cached per class, so applying
+ * overrides on reload or on a bulk load only asks the {@link ValueSupplier} for values and invokes the prepared setters.
+ * <p>
+ * The targets are applied in the same order as before plans were introduced:
+ * <ol>
+ *   <li>Fields, by their name.</li>
+ *   <li>Single-parameter methods (e.g. setters), by their name.</li>
+ *   <li>Zero-parameter methods (getters), by their name, writing into the backing field.</li>
+ * </ol>
+ */
+final class OverridePlan {
+    private static final Logger log = getLogger(OverridePlan.class);
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final ClassValue<OverridePlan> PLANS = new ClassValue<>() {
+        @Override
+        protected OverridePlan computeValue(Class<?> type) {
+            return new OverridePlan(type, OverrideConverters.defaults());
+        }
+    };
+
+    private final Class<?> clazz;
+    private final List<Target> targets = new ArrayList<>();
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    /**
+     * Creates a new plan. Use {@link #of(Class)} for a cached plan with the default converters.
+     *
+     * @param clazz      class of the configuration objects
+     * @param converters converters of the override values
+     */
+    OverridePlan(Class<?> clazz, OverrideConverters converters) {
+        this.clazz = clazz;
+        // Walk through every field in the config class (e.g. "private String host").
+        for (Field field : clazz.getDeclaredFields()) {
+            targets.add(fieldTarget(field.getName(), "field", field, converters));
+        }
+        // Also check single-parameter methods (typically setters like "setHost(String host)").
+        // We only consider methods with exactly one parameter, since those are the ones that
+        // make sense as "set this value" operations.
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getParameterCount() != 1) continue;
+            targets.add(methodTarget(method, converters));
+        }
+        // Handle @Overwrite annotations on zero-parameter methods (getters).
+        // Since we can't "set" a value through a getter, we need to find the backing field.
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getParameterCount() != 0) continue;
+            Field targetField = findBackingField(clazz, method.getName(), method.getReturnType());
+            if (targetField != null) {
+                targets.add(fieldTarget(method.getName(), "getter", targetField, converters));
+            } else {
+                targets.add(Target.failed(method.getName(), "Could not find backing field for getter method " + method.getName()));
+            }
+        }
+    }
+
+    /**
+     * Returns the cached plan for the given class using the {@link OverrideConverters#defaults() default converters}.
+     *
+     * @param clazz class of the configuration object
+     * @return plan of the class
+     */
+    static OverridePlan of(Class<?> clazz) {
+        return PLANS.get(clazz);
+    }
+
+    /**
+     * Applies all overrides provided by the supplier to the object.
+     * <p>
+     * The available overrides of the class are logged on the first application only.
+     *
+     * @param object   object of the class of this plan
+     * @param supplier the source of override values
+     */
+    void apply(Object object, ValueSupplier supplier) {
+        if (reported.compareAndSet(false, true)) {
+            logAvailableOverrides(clazz);
+        }
+        for (Target target : targets) {
+            Optional<Object> override = supplier.getValue(target.name());
+            if (override.isPresent()) {
+                target.apply(object, override.get());
+            }
+        }
+    }
+
+    private static Target fieldTarget(String name, String kind, Field field, OverrideConverters converters) {
+        OverrideConverter<?> converter = converters.forType(field.getType(), field.getGenericType());
+        if (converter == null) return Target.failed(name, "Unsupported override type: " + field.getType().getName());
+        try {
+            // By default, Java prevents access to private fields from outside the class.
+            // setAccessible(true) bypasses that restriction so we can write to it.
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(accessible(field));
+            return new Target(name, kind, adapt(setter, field), converter, null);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return Target.failed(name, "Could not set override for %s %s: %s".formatted(kind, name, e.getMessage()));
+        }
+    }
+
+    private static Target methodTarget(Method method, OverrideConverters converters) {
+        Class<?> type = method.getParameterTypes()[0];
+        Type genericType = method.getGenericParameterTypes()[0];
+        OverrideConverter<?> converter = converters.forType(type, genericType);
+        if (converter == null) return Target.failed(method.getName(), "Unsupported override type: " + type.getName());
+        try {
+            MethodHandle setter = MethodHandles.lookup().unreflect(accessible(method));
+            return new Target(method.getName(), "method", adapt(setter, method), converter, null);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return Target.failed(method.getName(), "Could not invoke override for method %s: %s".formatted(method.getName(), e.getMessage()));
+        }
+    }
+
+    private static <T extends AccessibleObject> T accessible(T object) {
+        object.setAccessible(true);
+        return object;
+    }
+
+    /**
+     * Adapts a setter to the common {@code (Object, Object)void} shape, so all targets can be invoked exactly.
+     * Static members ignore the object.
+     */
+    private static MethodHandle adapt(MethodHandle setter, Member member) {
+        if (Modifier.isStatic(member.getModifiers())) {
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        return setter.asType(SETTER);
+    }
+
+    /**
+     * Finds the backing field for a getter method by trying several strategies:
+     * <ol>
+     *   <li>Exact name match (method name equals field name)</li>
+     *   <li>JavaBean getter convention: strip "get"/"is" prefix and lowercase first char</li>
+     *   <li>Prefix match: find a field whose name the method name starts with,
+     *       preferring the longest matching field name (e.g. "greetingValue" matches "greeting")</li>
+     * </ol>
+     * Only fields whose type is compatible with the method's return type are considered.
+     */
+    private static Field findBackingField(Class<?> clazz, String methodName, Class<?> returnType) {
+        // Strategy 1: exact name match
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.getName().equals(methodName) && field.getType().equals(returnType)) {
+                return field;
+            }
+        }
+
+        // Strategy 2: JavaBean getter convention (getHost -> host, isDebug -> debug)
+        String beanFieldName = null;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            beanFieldName = Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            beanFieldName = Character.toLowerCase(methodName.charAt(2)) + methodName.substring(3);
+        }
+        if (beanFieldName != null) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getName().equals(beanFieldName) && field.getType().equals(returnType)) {
+                    return field;
+                }
+            }
+        }
+
+        // Strategy 3: find the field whose name is the longest prefix of the method name
+        Field bestMatch = null;
+        int bestLength = 0;
+        for (Field field : clazz.getDeclaredFields()) {
+            String fname = field.getName();
+            if (methodName.startsWith(fname) && fname.length() > bestLength && field.getType().equals(returnType)) {
+                bestMatch = field;
+                bestLength = fname.length();
+            }
+        }
+        return bestMatch;
+    }
+
+    /**
+     * Logs all available overrides for the given configuration class, including their descriptions
+     * if provided via the {@link Overwrite#description()} attribute.
+     * Takes {@link OverwritePrefix} into account for deriving default keys and forced prefixes.
+     */
+    private static void logAvailableOverrides(Class<?> clazz) {
+        String prefix = clazz.getSimpleName();
+        boolean forcePrefix = false;
+        OverwritePrefix overwritePrefix = clazz.getAnnotation(OverwritePrefix.class);
+        if (overwritePrefix != null) {
+            prefix = overwritePrefix.value();
+            forcePrefix = overwritePrefix.force();
+        }
+
+        boolean headerLogged = false;
+        for (Field field : clazz.getDeclaredFields()) {
+            Overwrite overwrite = field.getAnnotation(Overwrite.class);
+            if (overwrite != null) {
+                if (!headerLogged) {
+                    log.info("Available overrides for {}:", clazz.getSimpleName());
+                    headerLogged = true;
+                }
+                logOverwriteSources(overwrite, prefix, forcePrefix, field.getName());
+            }
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            Overwrite overwrite = method.getAnnotation(Overwrite.class);
+            if (overwrite != null) {
+                if (!headerLogged) {
+                    log.info("Available overrides for {}:", clazz.getSimpleName());
+                    headerLogged = true;
+                }
+                logOverwriteSources(overwrite, prefix, forcePrefix, method.getName());
+            }
+        }
+    }
+
+    /**
+     * Logs the property and environment variable sources for a single {@link Overwrite} annotation,
+     * taking the prefix and force flag into account.
+     */
+    private static void logOverwriteSources(Overwrite overwrite, String prefix, boolean forcePrefix, String memberName) {
+        String desc = overwrite.description().isEmpty() ? "" : " - " + overwrite.description();
+        for (Prop prop : overwrite.prop()) {
+            String propPrefix = prefix.replace("_", ".").toLowerCase();
+            String key;
+            if (prop.value().isEmpty()) {
+                key = propPrefix + "." + memberName;
+            } else if (forcePrefix) {
+                key = propPrefix + "." + prop.value();
+            } else {
+                key = prop.value();
+            }
+            log.info("  Property: {}{}", key, desc);
+        }
+        for (Env env : overwrite.env()) {
+            String envPrefix = prefix.replace(".", "_").toUpperCase();
+            String key;
+            if (env.value().isEmpty()) {
+                key = envPrefix + "_" + memberName.toUpperCase();
+            } else if (forcePrefix) {
+                key = envPrefix + "_" + env.value();
+            } else {
+                key = env.value();
+            }
+            log.info("  Environment: {}{}", key, desc);
+        }
+    }
+
+    /**
+     * A single member an override can be applied to.
+     *
+     * @param name      name the override is looked up by
+     * @param kind      kind of the member for logging
+     * @param setter    setter of the shape {@code (Object, Object)void} or null if the member can not be set
+     * @param converter converter of the override value
+     * @param failure   message logged when an override is provided for a member that can not be set
+     */
+    private record Target(String name, String kind, MethodHandle setter, OverrideConverter<?> converter, String failure) {
+        static Target failed(String name, String failure) {
+            return new Target(name, null, null, null, failure);
+        }
+
+        void apply(Object object, Object override) {
+            if (setter == null) {
+                log.warn(failure);
+                return;
+            }
+            Object value;
+            try {
+                // The override value comes as a String (from env / prop), but the member
+                // might be an int, boolean, etc. The converter handles that conversion.
+                value = converter.convert(override.toString());
+            } catch (RuntimeException e) {
+                log.warn("Could not convert override value for {} {}: {}", kind, name, e.getMessage());
+                return;
+            }
+            if (value == null) return;
+            try {
+                setter.invokeExact(object, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                log.warn("Could not apply override for {} {}: {}", kind, name, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Provides the environment variables and system properties read by the generated override suppliers.
+ * <p>
+ * By default, overrides are read via {@link System#getenv(String)} and {@link System#getProperty(String)}.
+ * Further sources like {@link #dotEnv(Path) .env files} or {@link #secrets(Path) secret directories} can be
+ * registered via {@link dev.chojo.ocular.ConfigurationsBuilder#addOverrideSource(OverrideSource)}.
+ * <p>
+ * Sources are called whenever a configuration is loaded or its overrides are refreshed, so implementations should
+ * cache what is expensive to read.
+ */
+public interface OverrideSource {
+    /**
+     * Returns the value of the environment variable with the given name.
+     *
+     * @param name name of the environment variable
+     * @return the value or null if it is not set
+     */
+    String env(String name);
+
+    /**
+     * Returns the value of the system property with the given name.
+     *
+     * @param name name of the system property
+     * @return the value or null if it is not set
+     */
+    String property(String name);
+
+    /**
+     * Creates a source that asks the given source for all values this source does not provide.
+     *
+     * @param fallback source with lower precedence
+     * @return a new source
+     */
+    default OverrideSource or(OverrideSource fallback) {
+        return chain(List.of(this, fallback));
+    }
+
+    /**
+     * The environment variables and system properties of the JVM.
+     *
+     * @return the system source
+     */
+    static OverrideSource system() {
+        return SystemSource.INSTANCE;
+    }
+
+    /**
+     * Reads environment variables from a {@code .env} file.
+     * <p>
+     * Each line holds a {@code NAME=value} pair. Empty lines, comments starting with {@code #} and a leading
+     * {@code export} are ignored. Values may be enclosed in single or double quotes.
+     * <p>
+     * The file is parsed once. It is checked for modifications at most once per second and parsed again only after
+     * it changed. A missing file provides no values.
+     *
+     * @param file path of the file
+     * @return a new source
+     */
+    static OverrideSource dotEnv(Path file) {
+        return new DotEnvSource(file, DotEnvSource.CHECK_INTERVAL);
+    }
+
+    /**
+     * Reads environment variables from a {@code .env} file, which is checked for modifications at most once per
+     * interval.
+     *
+     * @param file          path of the file
+     * @param checkInterval minimum time between two checks of the file. Zero checks on every lookup.
+     * @return a new source
+     * @see #dotEnv(Path)
+     */
+    static OverrideSource dotEnv(Path file, Duration checkInterval) {
+        return new DotEnvSource(file, checkInterval);
+    }
+
+    /**
+     * Reads values from a directory containing one file per value, as mounted by Kubernetes or Docker secrets.
+     * <p>
+     * The name of the file is the name of the environment variable or system property, the content of the file is
+     * the value. A single trailing line break is removed. Each file is read once and read again only after it
+     * changed.
+     *
+     * @param directory directory of the files
+     * @return a new source
+     */
+    static OverrideSource secrets(Path directory) {
+        return new SecretsSource(directory);
+    }
+
+    /**
+     * Combines multiple sources. The first source providing a value wins.
+     *
+     * @param sources sources ordered by precedence
+     * @return a new source
+     */
+    static OverrideSource chain(List<OverrideSource> sources) {
+        List<OverrideSource> chain = List.copyOf(sources);
+        if (chain.size() == 1) return chain.get(0);
+        return new OverrideSource() {
+            @Override
+            public String env(String name) {
+                for (OverrideSource source : chain) {
+                    String value = source.env(name);
+                    if (value != null) return value;
+                }
+                return null;
+            }
+
+            @Override
+            public String property(String name) {
+                for (OverrideSource source : chain) {
+                    String value = source.property(name);
+                    if (value != null) return value;
+                }
+                return null;
+            }
+        };
+    }
+}
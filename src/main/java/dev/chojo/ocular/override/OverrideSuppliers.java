@@ -0,0 +1,259 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import org.slf4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Resolves the {@link ValueSupplier} classes generated by {@link dev.chojo.ocular.processor.OcularProcessor}.
+ * <p>
+ * The generated classes are looked up in the index {@value #INDEX} written by the processor.
+ * Config classes without overrides are not part of the index and cost a single map lookup.
+ * The constructor of a generated class is resolved once and cached.
+ * <p>
+ * Overrides are applied to nested config objects as well. See {@link #applyOverrides(Object, Class)}.
+ */
+public final class OverrideSuppliers {
+    /**
+     * Location of the index written by {@link dev.chojo.ocular.processor.OcularProcessor}.
+     */
+    public static final String INDEX = "META-INF/ocular/overrides.index";
+    private static final Logger log = getLogger(OverrideSuppliers.class);
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(ValueSupplier.class, OverrideSource.class);
+    /**
+     * The types converted by the code generated for {@link DirectOverride} itself.
+     */
+    private static final Set<Class<?>> DIRECT_TYPES = Set.of(String.class, int.class, Integer.class, long.class,
+            Long.class, boolean.class, Boolean.class, double.class, Double.class, float.class, Float.class,
+            short.class, Short.class, byte.class, Byte.class);
+    private final ClassLoader classLoader;
+    private final Map<Class<?>, Optional<MethodHandle>> constructors = new ConcurrentHashMap<>();
+    private final Map<Class<?>, OverrideGraph> graphs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, OverridePlan> plans = new ConcurrentHashMap<>();
+    private final OverrideConverters converters;
+    private final OverrideSource source;
+    private final boolean direct;
+    private volatile Index index;
+
+    /**
+     * Creates a new lookup for generated suppliers.
+     *
+     * @param classLoader class loader used to load the generated classes
+     */
+    public OverrideSuppliers(ClassLoader classLoader) {
+        this(classLoader, OverrideConverters.defaults());
+    }
+
+    /**
+     * Creates a new lookup for generated suppliers.
+     *
+     * @param classLoader class loader used to load the generated classes
+     * @param converters  converters of the override values
+     */
+    public OverrideSuppliers(ClassLoader classLoader, OverrideConverters converters) {
+        this(classLoader, converters, OverrideSource.system());
+    }
+
+    /**
+     * Creates a new lookup for generated suppliers.
+     *
+     * @param classLoader class loader used to load the generated classes
+     * @param converters  converters of the override values
+     * @param source      source of the environment variables and system properties read by the suppliers
+     */
+    public OverrideSuppliers(ClassLoader classLoader, OverrideConverters converters, OverrideSource source) {
+        this.classLoader = classLoader;
+        this.converters = converters;
+        this.source = source;
+        // Custom converters of those types would be ignored by the generated code.
+        this.direct = DIRECT_TYPES.stream().noneMatch(converters::hasCustom);
+    }
+
+    /**
+     * Creates a new instance of the generated supplier of the given class.
+     * <p>
+     * The supplier reads the environment variables and system properties from the {@link OverrideSource} of this
+     * instance when it is created.
+     *
+     * @param clazz config class
+     * @return the supplier or empty if the class has no generated supplier or it could not be created
+     */
+    public Optional<ValueSupplier> supplier(Class<?> clazz) {
+        Optional<MethodHandle> constructor = constructors.computeIfAbsent(clazz, this::resolve);
+        if (constructor.isEmpty()) return Optional.empty();
+        try {
+            return Optional.of((ValueSupplier) constructor.get().invokeExact(source));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.warn("Could not apply overrides for class {}: {}", clazz.getName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Applies the overrides of the config class and of all nested config objects to the object.
+     * <p>
+     * The paths to nested objects with overrides are resolved once per class. Each class receives the values of its
+     * own generated supplier, which is created once per call.
+     *
+     * @param object config object
+     * @param type   config class the object was read as
+     */
+    public void applyOverrides(Object object, Class<?> type) {
+        applyOverrides(object, type, this::supplier);
+    }
+
+    /**
+     * Applies overrides of the config class and of all nested config objects to the object, using the values of the
+     * given suppliers instead of the generated ones.
+     * <p>
+     * Only classes with a generated supplier receive overrides, since only their overridable members are known.
+     * The values are converted and applied the same way as the values of the generated suppliers.
+     *
+     * @param object    config object
+     * @param type      config class the object was read as
+     * @param suppliers creates the supplier of a config class. Called at most once per class and call.
+     */
+    public void applyOverrides(Object object, Class<?> type, Function<Class<?>, Optional<ValueSupplier>> suppliers) {
+        if (object == null) return;
+        OverrideGraph graph = graph(type);
+        if (!graph.isEmpty()) {
+            graph.apply(object, suppliers, this::apply);
+        }
+    }
+
+    private void apply(Object object, ValueSupplier supplier) {
+        OverrideApplier.applyOverrides(object, supplier, clazz -> plans.computeIfAbsent(clazz, k -> new OverridePlan(k, converters)), direct);
+    }
+
+    private OverrideGraph graph(Class<?> type) {
+        OverrideGraph graph = graphs.get(type);
+        if (graph != null) return graph;
+        // Building visits further classes, so it can not happen inside computeIfAbsent.
+        OverrideGraph.build(type, this::hasSupplier).forEach(graphs::putIfAbsent);
+        return graphs.get(type);
+    }
+
+    private boolean hasSupplier(Class<?> clazz) {
+        return constructors.computeIfAbsent(clazz, this::resolve).isPresent();
+    }
+
+    /**
+     * Looks up the generated class of the config class.
+     * <p>
+     * The index written by the processor is used if present. Classes missing in the index of their own jar or
+     * directory have no generated class. For classes from a location without an index, e.g. compiled with an older
+     * version, the name {@code <ConfigClass>_OcularOverride} is guessed.
+     */
+    private Optional<MethodHandle> resolve(Class<?> clazz) {
+        Index index = index();
+        try {
+            String generated = index.entries().get(clazz.getName());
+            if (generated != null) return Optional.of(constructor(generated));
+            if (index.locations().contains(location(clazz))) return Optional.empty();
+            String baseName = clazz.getName();
+            // Inner classes use '$' in Class.getName() (e.g. "Outer$Inner") but the generated class
+            // uses '_' instead (e.g. "Outer_Inner_OcularOverride"), so we try both naming conventions.
+            for (String candidate : List.of(baseName.replace('$', '_'), baseName)) {
+                try {
+                    return Optional.of(constructor(candidate + "_OcularOverride"));
+                } catch (ClassNotFoundException ignored) {
+                    // No generated class for this naming variant — try the next one
+                }
+            }
+        } catch (ReflectiveOperationException | ClassCastException | IllegalArgumentException e) {
+            log.warn("Could not apply overrides for class {}: {}", clazz.getName(), e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private MethodHandle constructor(String className) throws ReflectiveOperationException {
+        Class<?> overrideClass = Class.forName(className, true, classLoader);
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return lookup.unreflectConstructor(overrideClass.getDeclaredConstructor(OverrideSource.class)).asType(CONSTRUCTOR);
+        } catch (NoSuchMethodException e) {
+            // Classes generated by older versions always read from the JVM.
+            MethodHandle constructor = lookup.unreflectConstructor(overrideClass.getDeclaredConstructor())
+                                             .asType(MethodType.methodType(ValueSupplier.class));
+            return MethodHandles.dropArguments(constructor, 0, OverrideSource.class);
+        }
+    }
+
+    /**
+     * The jar or directory the class was loaded from, in the form the locations of the index use.
+     */
+    private static String location(Class<?> clazz) {
+        String resource = clazz.getName().replace('.', '/') + ".class";
+        URL url = clazz.getResource("/" + resource);
+        if (url == null) return null;
+        String location = url.toString();
+        return location.endsWith(resource) ? location.substring(0, location.length() - resource.length()) : null;
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current != null) return current;
+        synchronized (this) {
+            if (index == null) index = loadIndex();
+            return index;
+        }
+    }
+
+    /**
+     * Reads and merges all indices visible to the class loader. Every jar compiled with the processor has its own.
+     */
+    private Index loadIndex() {
+        Map<String, String> entries = new HashMap<>();
+        Set<String> locations = new HashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(INDEX);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                String location = resource.toString();
+                if (location.endsWith(INDEX)) locations.add(location.substring(0, location.length() - INDEX.length()));
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int separator = line.indexOf('=');
+                        if (separator <= 0) continue;
+                        entries.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not read override index: {}", e.getMessage());
+        }
+        return new Index(entries, locations);
+    }
+
+    /**
+     * The merged indices and the jars or directories containing them.
+     */
+    private record Index(Map<String, String> entries, Set<String> locations) {
+    }
+}
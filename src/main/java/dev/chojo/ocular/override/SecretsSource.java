@@ -0,0 +1,69 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Values read from a directory with one file per value.
+ *
+ * @see OverrideSource#secrets(Path)
+ */
+final class SecretsSource implements OverrideSource {
+    private static final Logger log = getLogger(SecretsSource.class);
+    private final Path directory;
+    private final Map<String, CachedFile<String>> secrets = new ConcurrentHashMap<>();
+
+    SecretsSource(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String env(String name) {
+        return read(name);
+    }
+
+    @Override
+    public String property(String name) {
+        return read(name);
+    }
+
+    private String read(String name) {
+        // Names are never resolved outside the directory.
+        if (name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) return null;
+        Path file = directory.resolve(name);
+        try {
+            // Attributes follow symlinks, so secrets replaced via a symlink swap are detected as well.
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) return null;
+            CachedFile<String> secret = CachedFile.read(file, attributes, secrets.get(name), SecretsSource::strip);
+            secrets.put(name, secret);
+            return secret.value();
+        } catch (NoSuchFileException e) {
+            secrets.remove(name);
+            return null;
+        } catch (IOException e) {
+            log.warn("Could not read secret {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String strip(String value) {
+        if (value.endsWith("\r\n")) return value.substring(0, value.length() - 2);
+        if (value.endsWith("\n")) return value.substring(0, value.length() - 1);
+        return value;
+    }
+}
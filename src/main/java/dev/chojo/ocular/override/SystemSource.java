@@ -0,0 +1,26 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.override;
+
+/**
+ * The environment variables and system properties of the JVM.
+ */
+final class SystemSource implements OverrideSource {
+    static final SystemSource INSTANCE = new SystemSource();
+
+    private SystemSource() {
+    }
+
+    @Override
+    public String env(String name) {
+        return System.getenv(name);
+    }
+
+    @Override
+    public String property(String name) {
+        return System.getProperty(name);
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Optional;
  * Implementations of this interface are generated automatically at compile time by
  * {@link dev.chojo.ocular.processor.OcularProcessor} for each configuration class that uses
  * {@link Overwrite @Overwrite} annotations. The generated class reads environment variables
- * and system properties during construction and stores them in an internal map.
+ * and system properties from an {@link OverrideSource} during construction and stores them in an internal map.
  * <p>
  * At runtime, when a configuration is loaded, {@link OverrideApplier} calls
  * {@link #getValue(String)} for each field/method name to check if an override exists.
@@ -5,6 +5,7 @@
  */
 package dev.chojo.ocular.processor;
 
+import dev.chojo.ocular.override.OverrideSuppliers;
 import dev.chojo.ocular.override.Overwrite;
 import dev.chojo.ocular.override.OverwritePrefix;
 
@@ -14,14 +15,19 @@ import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
-import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.JavaFileObject;
@@ -34,6 +40,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Compile-time annotation processor that generates override helper classes for configuration objects.
@@ -49,7 +56,9 @@ import java.util.Set;
  * <ol>
  *   <li>Implements {@link dev.chojo.ocular.override.ValueSupplier ValueSupplier}.</li>
  *   <li>In its constructor, reads the relevant environment variables and system properties
- *       (as declared in the {@code @Overwrite} annotations) and stores any found values in a map.</li>
+ *       (as declared in the {@code @Overwrite} annotations) from the given
+ *       {@link dev.chojo.ocular.override.OverrideSource OverrideSource} and stores any found values in a map.
+ *       The no-argument constructor reads them from the JVM.</li>
  *   <li>Provides a {@code getValue(fieldName)} method that returns the override value for a given field,
  *       or empty if no override was set.</li>
  * </ol>
@@ -63,6 +72,16 @@ import java.util.Set;
  *       overwrite fields in the deserialized config object.</li>
  * </ol>
  * <p>
+ * <b>Direct application:</b> With the processor option {@code -Aocular.directApply=true} the generated class
+ * additionally implements {@link dev.chojo.ocular.override.DirectOverride DirectOverride}. Its {@code apply} method
+ * parses the values with the parser of the member type and assigns fields or calls setters directly, so no reflection
+ * is needed at runtime. This is only possible if every annotated member is a non-private, non-final field or
+ * single-parameter method of a supported type. Otherwise, a warning is reported and the reflective application is used.
+ * <p>
+ * <b>Index:</b> Once all rounds are processed, the config classes and their generated classes are written to
+ * {@value dev.chojo.ocular.override.OverrideSuppliers#INDEX}. At runtime, the generated class is looked up in this
+ * index instead of guessing its name.
+ * <p>
  * <b>Registration:</b> This processor is registered via the standard Java service loader mechanism
  * in {@code META-INF/services/javax.annotation.processing.Processor}, so the compiler discovers
  * it automatically.
@@ -71,12 +90,21 @@ import java.util.Set;
 // and which Java version it targets. Without them, the compiler wouldn't know to invoke this class.
 @SupportedAnnotationTypes("dev.chojo.ocular.override.Overwrite")
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
+@SupportedOptions(OcularProcessor.DIRECT_APPLY)
 public class OcularProcessor extends AbstractProcessor {
+    /**
+     * Processor option to generate a reflection free {@link dev.chojo.ocular.override.DirectOverride DirectOverride}.
+     */
+    public static final String DIRECT_APPLY = "ocular.directApply";
 
     // The Filer is the compiler's API for creating new source files on disk during compilation.
     private Filer filer;
     // The Messager lets us print errors/warnings that show up in the compiler output (like javac warnings).
     private Messager messager;
+    // Whether a DirectOverride should be generated where possible.
+    private boolean directApply;
+    // Binary names of config classes mapped to their generated classes, collected over all rounds.
+    private final Map<String, String> index = new TreeMap<>();
 
     /**
      * Writes a single lookup block into the generated constructor.
@@ -84,10 +112,10 @@ public class OcularProcessor extends AbstractProcessor {
      */
     private static void emitLookup(SourceWriter out, String fieldName, String lookupExpression) throws IOException {
         // This writes a small block of Java code into the generated constructor. For example,
-        // for a field "host" with System.getenv("MY_HOST"), the generated code would be:
+        // for a field "host" with source.env("MY_HOST"), the generated code would be:
         //
         //   {
-        //       String value = System.getenv("MY_HOST");
+        //       String value = source.env("MY_HOST");
         //       if (value != null && !overrides.containsKey("host")) overrides.put("host", value);
         //   }
         //
@@ -110,6 +138,7 @@ public class OcularProcessor extends AbstractProcessor {
         super.init(processingEnv);
         filer = processingEnv.getFiler();
         messager = processingEnv.getMessager();
+        directApply = Boolean.parseBoolean(processingEnv.getOptions().get(DIRECT_APPLY));
     }
 
     /**
@@ -121,6 +150,17 @@ public class OcularProcessor extends AbstractProcessor {
      */
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!index.isEmpty()) {
+                try {
+                    generateIndex();
+                } catch (IOException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Could not generate override index: " + e.getMessage());
+                }
+            }
+            return true;
+        }
+
         // Group all @Overwrite-annotated elements by the class they belong to
         Map<TypeElement, List<Element>> classesToProcess = new HashMap<>();
 
@@ -162,6 +202,19 @@ public class OcularProcessor extends AbstractProcessor {
     private record OverrideInfo(String fieldName, String description, List<String> sources) {
     }
 
+    /**
+     * Generates the index at {@value OverrideSuppliers#INDEX} that maps the binary name of every config class
+     * to the name of its generated class. One entry per line in the form {@code config.Class=generated.Class}.
+     */
+    private void generateIndex() throws IOException {
+        FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", OverrideSuppliers.INDEX);
+        try (Writer writer = resource.openWriter()) {
+            for (Map.Entry<String, String> entry : index.entrySet()) {
+                writer.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+            }
+        }
+    }
+
     /**
      * Generates a Markdown reference file at {@code META-INF/ocular/overrides.md} listing all
      * overridable properties and environment variables with their descriptions.
@@ -196,13 +249,13 @@ public class OcularProcessor extends AbstractProcessor {
      * The generated class implements {@link dev.chojo.ocular.override.ValueSupplier} and contains:
      * <ul>
      *   <li>A {@code Map<String, String>} that maps field names to their override values.</li>
-     *   <li>A constructor that reads env vars / system properties and populates the map.</li>
+     *   <li>A constructor that reads env vars / system properties from an {@code OverrideSource} and populates the map.</li>
      *   <li>A {@code getValue()} method that looks up a field name in the map.</li>
      * </ul>
      */
     private List<OverrideInfo> generateOverrideProvider(TypeElement typeElement, List<Element> elements) throws IOException {
         // Extract the package (e.g. "com.example") so we can put the generated file in the same package
-        String packageName = ((PackageElement) typeElement.getEnclosingElement()).getQualifiedName().toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
         // Full name like "com.example.MyConfig"
         String fullClassName = typeElement.getQualifiedName().toString();
 
@@ -225,16 +278,38 @@ public class OcularProcessor extends AbstractProcessor {
         // Collect override info for documentation
         List<OverrideInfo> overrideInfos = new ArrayList<>();
 
+        // Direct application is only generated if every annotated member can be set from the generated class.
+        boolean direct = false;
+        if (directApply) {
+            String blocker = directApplyBlocker(typeElement, elements);
+            if (blocker == null) {
+                direct = true;
+            } else {
+                messager.printMessage(Diagnostic.Kind.WARNING,
+                        "Direct override application is not generated for " + fullClassName + ": " + blocker, typeElement);
+            }
+        }
+
+        // The runtime looks up classes by their binary name, which uses '$' for nested classes.
+        index.put(processingEnv.getElementUtils().getBinaryName(typeElement).toString(), packageName + "." + generatedClassName);
+
         JavaFileObject builderFile = filer.createSourceFile(packageName + "." + generatedClassName);
         // SourceWriter is a helper that handles indentation so the generated code is readable
         try (SourceWriter out = new SourceWriter(builderFile.openWriter())) {
             out.println("package {};", packageName);
             out.println();
+            out.println("import dev.chojo.ocular.override.DirectOverride;");
+            out.println("import dev.chojo.ocular.override.OverrideApplier;");
+            out.println("import dev.chojo.ocular.override.OverrideSource;");
             out.println("import dev.chojo.ocular.override.ValueSupplier;");
             out.println("import java.util.Optional;");
             out.println();
 
-            out.beginBlock("public class {} implements ValueSupplier {", generatedClassName);
+            if (direct) {
+                out.beginBlock("public class {} implements DirectOverride<{}> {", generatedClassName, fullClassName);
+            } else {
+                out.beginBlock("public class {} implements ValueSupplier {", generatedClassName);
+            }
             out.println();
             out.println("private final java.util.Map<String, String> overrides = new java.util.HashMap<>();");
             out.println();
@@ -243,6 +318,10 @@ public class OcularProcessor extends AbstractProcessor {
             // For each field that had @Overwrite, we write Java code that reads the env or prop
             // and stores the result in the "overrides" map. This code runs once when the class is instantiated.
             out.beginBlock("public {}() {", generatedClassName);
+            out.println("this(OverrideSource.system());");
+            out.endBlock();
+            out.println();
+            out.beginBlock("public {}(OverrideSource source) {", generatedClassName);
             for (Element element : elements) {
                 String fieldName = element.getSimpleName().toString();
                 // Write the lookup code for this field's env/prop sources into the constructor
@@ -259,11 +338,126 @@ public class OcularProcessor extends AbstractProcessor {
             out.println("return Optional.ofNullable(overrides.get(fieldOrMethodName));");
             out.endBlock();
 
+            if (direct) {
+                emitDirectApply(out, fullClassName, elements);
+            }
+
             out.endBlock();
         }
         return overrideInfos;
     }
 
+    /**
+     * Checks whether the overrides of the config class can be applied directly from the generated class.
+     *
+     * @return the reason why they can not be applied directly or null if they can
+     */
+    private String directApplyBlocker(TypeElement typeElement, List<Element> elements) {
+        if (!typeElement.getTypeParameters().isEmpty()) return "the class is generic";
+        // The generated class lives in the same package, so everything except private members is accessible.
+        for (Element enclosing = typeElement; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getModifiers().contains(Modifier.PRIVATE)) return enclosing.getSimpleName() + " is private";
+        }
+        for (Element element : elements) {
+            String name = element.getSimpleName().toString();
+            if (element.getModifiers().contains(Modifier.PRIVATE)) return name + " is private";
+            if (element.getModifiers().contains(Modifier.STATIC)) return name + " is static";
+            if (element.getKind() == ElementKind.FIELD) {
+                if (element.getModifiers().contains(Modifier.FINAL)) return name + " is final";
+                if (parser(element.asType()) == null) return "the type of " + name + " is not supported";
+            } else if (element instanceof ExecutableElement method && method.getParameters().size() == 1) {
+                if (parser(method.getParameters().get(0).asType()) == null) return "the type of " + name + " is not supported";
+            } else {
+                return name + " is not a field or single-parameter method";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the {@code type} and {@code apply} methods of a {@link dev.chojo.ocular.override.DirectOverride}.
+     * <p>
+     * For a field "port" of type int the generated code looks like:
+     * <pre>{@code
+     * {
+     *     String value = overrides.get("port");
+     *     if (value != null) {
+     *         try {
+     *             config.port = Integer.parseInt(value);
+     *         } catch (RuntimeException e) {
+     *             OverrideApplier.conversionFailed("port", e);
+     *         }
+     *     }
+     * }
+     * }</pre>
+     */
+    private void emitDirectApply(SourceWriter out, String fullClassName, List<Element> elements) throws IOException {
+        out.println();
+        out.println("@Override");
+        out.beginBlock("public Class<{}> type() {", fullClassName);
+        out.println("return {}.class;", fullClassName);
+        out.endBlock();
+
+        out.println();
+        out.println("@Override");
+        out.beginBlock("public void apply({} config) {", fullClassName);
+        for (Element element : elements) {
+            String name = element.getSimpleName().toString();
+            String assignment;
+            if (element instanceof ExecutableElement method) {
+                assignment = "config.%s(%s);".formatted(name, parser(method.getParameters().get(0).asType()));
+            } else {
+                assignment = "config.%s = %s;".formatted(name, parser(element.asType()));
+            }
+            out.beginBlock("{");
+            out.println("String value = overrides.get(\"{}\");", name);
+            out.beginBlock("if (value != null) {");
+            out.beginBlock("try {");
+            out.println("{}", assignment);
+            out.endBlock("} catch (RuntimeException e) {");
+            out.incrementIndent();
+            out.println("OverrideApplier.conversionFailed(\"{}\", e);", name);
+            out.endBlock();
+            out.endBlock();
+            out.endBlock();
+        }
+        out.endBlock();
+    }
+
+    /**
+     * Returns the expression that converts the string {@code value} into the given type.
+     *
+     * @return the expression or null if the type is not supported
+     */
+    private static String parser(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind.isPrimitive()) {
+            return switch (kind) {
+                case INT -> "Integer.parseInt(value)";
+                case LONG -> "Long.parseLong(value)";
+                case BOOLEAN -> "Boolean.parseBoolean(value)";
+                case DOUBLE -> "Double.parseDouble(value)";
+                case FLOAT -> "Float.parseFloat(value)";
+                case SHORT -> "Short.parseShort(value)";
+                case BYTE -> "Byte.parseByte(value)";
+                default -> null;
+            };
+        }
+        if (kind != TypeKind.DECLARED) return null;
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        return switch (name) {
+            case "java.lang.String" -> "value";
+            case "java.lang.Integer" -> "Integer.valueOf(value)";
+            case "java.lang.Long" -> "Long.valueOf(value)";
+            case "java.lang.Boolean" -> "Boolean.valueOf(value)";
+            case "java.lang.Double" -> "Double.valueOf(value)";
+            case "java.lang.Float" -> "Float.valueOf(value)";
+            case "java.lang.Short" -> "Short.valueOf(value)";
+            case "java.lang.Byte" -> "Byte.valueOf(value)";
+            default -> null;
+        };
+    }
+
     /**
      * Writes Java code into the generated constructor that looks up override values for one field.
      * <p>
@@ -319,8 +513,8 @@ public class OcularProcessor extends AbstractProcessor {
                         // Force mode: always prepend the prefix, even for explicit names
                         key = prefix + "." + key;
                     }
-                    // Write Java code like: String value = System.getProperty("myclass.host");
-                    emitLookup(out, fieldName, "System.getProperty(\"" + key + "\")");
+                    // Write Java code like: String value = source.property("myclass.host");
+                    emitLookup(out, fieldName, "source.property(\"" + key + "\")");
                     sources.add("Property: `" + key + "`");
                 }
             } else if ("env".equals(attrName)) {
@@ -336,8 +530,8 @@ public class OcularProcessor extends AbstractProcessor {
                         // Force mode: always prepend the prefix, even for explicit names
                         key = prefix + "_" + key;
                     }
-                    // Write Java code like: String value = System.getenv("MYCLASS_HOST");
-                    emitLookup(out, fieldName, "System.getenv(\"" + key + "\")");
+                    // Write Java code like: String value = source.env("MYCLASS_HOST");
+                    emitLookup(out, fieldName, "source.env(\"" + key + "\")");
                     sources.add("Environment: `" + key + "`");
                 }
             }
@@ -8,8 +8,17 @@ package dev.chojo.ocular.util;
 import java.util.function.Consumer;
 
 public class Consumers {
+    private static final Consumer<Object> IDENTITY = t -> {
+    };
+
+    /**
+     * A consumer doing nothing. The same instance is returned on every call.
+     *
+     * @param <T> type of the consumed value
+     * @return the consumer
+     */
+    @SuppressWarnings("unchecked")
     public static <T> Consumer<T> identity() {
-        return t -> {
-        };
+        return (Consumer<T>) IDENTITY;
     }
 }
@@ -0,0 +1,182 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular.watch;
+
+import dev.chojo.ocular.Configurations;
+import dev.chojo.ocular.key.Key;
+import org.slf4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.nio.file.ProviderMismatchException;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Watches the files of loaded configurations and reloads them when they are changed on disk.
+ * <p>
+ * The directories containing loaded configuration files are registered at a {@link WatchService}.
+ * Editors often produce several events for a single save, e.g. by writing a temporary file and moving it into place
+ * or by writing the file multiple times. Events are therefore coalesced per key. A key is reloaded once no further
+ * event for it was received within the debounce window.
+ * <p>
+ * Reloads run on the {@link Configurations#executor()} and use {@link Configurations#reloadIfChanged(Key)}. Files written by
+ * the configurations themselves are therefore recognized as unchanged and not parsed again. Files whose metadata still
+ * matches the state recorded on their last read or write are skipped without reading them at all.
+ * <p>
+ * Only files on the file system of {@link Configurations#base()} are watched.
+ * <p>
+ * A watcher is created via {@link Configurations#watch(Duration)} and stops watching once it is closed.
+ */
+public class ConfigWatcher implements Closeable {
+    private static final Logger log = getLogger(ConfigWatcher.class);
+    private final Configurations<?> configurations;
+    private final Duration debounce;
+    private final FileSystem fileSystem;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Map<Path, Key<?>> tracked = new ConcurrentHashMap<>();
+    private final Map<Key<?>, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final Thread thread;
+    private volatile boolean open = true;
+
+    /**
+     * Creates and starts a new watcher.
+     *
+     * @param configurations the configurations to reload
+     * @param debounce       the time to wait for further events of a file before it is reloaded
+     * @throws IOException if the watch service could not be created
+     */
+    public ConfigWatcher(Configurations<?> configurations, Duration debounce) throws IOException {
+        this.configurations = configurations;
+        this.debounce = debounce;
+        this.fileSystem = configurations.base().getFileSystem();
+        this.watchService = fileSystem.newWatchService();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "ocular-watcher-debounce"));
+        this.thread = daemon(this::run, "ocular-watcher");
+        thread.start();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Starts watching the file of a key.
+     *
+     * @param key  the key of the file
+     * @param path the resolved path of the file
+     */
+    public void track(Key<?> key, Path path) {
+        if (!open) return;
+        if (path.getFileSystem() != fileSystem) {
+            log.debug("Not watching {}, since it is not on the file system of the configuration base.", path);
+            return;
+        }
+        Path file = path.toAbsolutePath().normalize();
+        if (tracked.putIfAbsent(file, key) != null) return;
+        Path directory = file.getParent();
+        if (directories.containsValue(directory)) return;
+        try {
+            WatchKey watchKey = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            directories.put(watchKey, directory);
+            log.debug("Watching {} for configuration changes.", directory);
+        } catch (IOException | ClosedWatchServiceException | ProviderMismatchException | UnsupportedOperationException e) {
+            log.warn("Could not watch directory {} for configuration changes.", directory, e);
+        }
+    }
+
+    /**
+     * Checks whether the watcher is still running.
+     *
+     * @return true if the watcher was not closed yet
+     */
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        if (!open) return;
+        open = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("Could not close watch service.", e);
+        }
+        scheduler.shutdownNow();
+        pending.clear();
+    }
+
+    private void run() {
+        while (open) {
+            WatchKey watchKey;
+            try {
+                watchKey = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                break;
+            }
+            Path directory = directories.get(watchKey);
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (directory == null) continue;
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Events were lost. Every file in this directory might have changed.
+                    tracked.forEach((path, key) -> {
+                        if (path.getParent().equals(directory)) schedule(key);
+                    });
+                    continue;
+                }
+                Key<?> key = tracked.get(directory.resolve((Path) event.context()));
+                // Events of other files like temporary files created while writing are ignored.
+                if (key != null) schedule(key);
+            }
+            if (!watchKey.reset()) {
+                directories.remove(watchKey);
+            }
+        }
+    }
+
+    private void schedule(Key<?> key) {
+        if (!open) return;
+        pending.compute(key, (k, previous) -> {
+            if (previous != null) previous.cancel(false);
+            return scheduler.schedule(() -> configurations.executor().execute(() -> reload(k)), debounce.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(Key<?> key) {
+        if (!open) return;
+        // Events caused by the configurations writing the file would otherwise require reading and hashing it.
+        if (configurations.isUpToDate(key)) {
+            log.trace("Ignoring changes of {}, since it matches the state it was last read or written in.", key);
+            return;
+        }
+        try {
+            if (configurations.reloadIfChanged(key)) {
+                log.info("Reloaded {} after it was changed on disk.", key);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not reload {} after it was changed on disk.", key, e);
+        }
+    }
+}
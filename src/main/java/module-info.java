@@ -1,6 +1,7 @@
 module dev.chojo.ocular {
     requires com.fasterxml.jackson.annotation;
     requires java.compiler;
+    requires static jdk.jfr;
     requires org.jetbrains.annotations;
     requires org.slf4j;
     requires tools.jackson.core;
@@ -13,9 +14,13 @@ module dev.chojo.ocular {
     exports dev.chojo.ocular.dataformats;
     exports dev.chojo.ocular.exceptions;
     exports dev.chojo.ocular.hooks;
+    exports dev.chojo.ocular.io;
+    exports dev.chojo.ocular.jfr;
     exports dev.chojo.ocular.key;
     exports dev.chojo.ocular.locks;
+    exports dev.chojo.ocular.metrics;
     exports dev.chojo.ocular.override;
     exports dev.chojo.ocular.processor;
+    exports dev.chojo.ocular.watch;
 
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.classes;
+
+import dev.chojo.ocular.override.Overwrite;
+import dev.chojo.ocular.override.Prop;
+
+public class EndpointConfig {
+
+    @Overwrite(prop = @Prop("endpoint.target"))
+    public Endpoint target = new Endpoint("localhost", 80);
+
+    public record Endpoint(String host, int port) {
+    }
+}
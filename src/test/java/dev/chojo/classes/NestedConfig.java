@@ -0,0 +1,32 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.classes;
+
+import dev.chojo.ocular.override.Overwrite;
+import dev.chojo.ocular.override.Prop;
+
+import java.util.List;
+import java.util.Map;
+
+public class NestedConfig {
+    public Database database = new Database();
+    public List<Pool> pools = List.of(new Pool(), new Pool());
+    public Map<String, Pool> namedPools = Map.of("main", new Pool());
+    public Settings settings = new Settings(new Pool());
+
+    public static class Database {
+        public Pool pool = new Pool();
+        public Database parent;
+    }
+
+    public static class Pool {
+        @Overwrite(prop = @Prop("nested.pool.max"))
+        public int maxSize = 10;
+    }
+
+    public record Settings(Pool pool) {
+    }
+}
@@ -6,8 +6,12 @@
 package dev.chojo.ocular;
 
 import dev.chojo.classes.AnnotationConfig;
+import dev.chojo.classes.AnnotationConfig_OcularOverride;
 import dev.chojo.ocular.dataformats.JsonDataFormat;
 import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.override.DirectOverride;
+import dev.chojo.ocular.override.OverrideApplier;
+import dev.chojo.ocular.override.ValueSupplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +24,10 @@ import java.nio.file.Path;
 import java.util.Comparator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AnnotationOverrideTest {
 
@@ -56,6 +63,18 @@ class AnnotationOverrideTest {
         }
     }
 
+    @Test
+    void reflectiveApplicationByDefault() {
+        // Direct application is covered by DirectOverrideTest. Everything else runs on the default path.
+        System.setProperty("sys.test", "reflective");
+        ValueSupplier supplier = new AnnotationConfig_OcularOverride();
+        assertFalse(supplier instanceof DirectOverride<?>);
+
+        AnnotationConfig target = new AnnotationConfig();
+        OverrideApplier.applyOverrides(target, supplier);
+        assertEquals("reflective", target.testPrecise);
+    }
+
     @Test
     void defaultPropOverridesField() {
         System.setProperty("annotationconfig.test", "from-sys");
@@ -172,6 +191,21 @@ class AnnotationOverrideTest {
         assertEquals("original-mixed", target.mixedMultiple);
     }
 
+    @Test
+    void refreshOverridesWithoutReload() {
+        Configurations<AnnotationConfig> conf = Configurations.builder(CONFIG_KEY, new JsonDataFormat())
+                                                              .setBase(BASE)
+                                                              .build();
+        AnnotationConfig target = conf.main();
+        assertNull(target.testPrecise);
+
+        System.setProperty("sys.test", "refreshed");
+        assertTrue(conf.refreshOverrides().contains(CONFIG_KEY));
+
+        assertSame(target, conf.main());
+        assertEquals("refreshed", target.testPrecise);
+    }
+
     private AnnotationConfig loadViaConfigurations() {
         Configurations<AnnotationConfig> conf = Configurations.builder(CONFIG_KEY, new JsonDataFormat())
                                                               .setBase(BASE)
@@ -0,0 +1,80 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.ocular.io.AtomicFiles;
+import dev.chojo.ocular.io.Durability;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtomicFilesTest {
+    private static final Path BASE = Path.of("atomic_test");
+    private static final Path FILE = BASE.resolve("nested").resolve("config.json");
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(BASE)) {
+            try (var walker = Files.walk(BASE)) {
+                walker.map(Path::toFile)
+                      .sorted(Comparator.reverseOrder())
+                      .forEachOrdered(File::delete);
+            }
+        }
+    }
+
+    @Test
+    void writeCreatesFile() throws IOException {
+        for (Durability durability : Durability.values()) {
+            AtomicFiles.write(FILE, durability, out -> out.write(durability.name().getBytes(StandardCharsets.UTF_8)));
+            assertEquals(durability.name(), Files.readString(FILE));
+        }
+        assertEquals(List.of(FILE.getFileName()), files());
+    }
+
+    @Test
+    void failedWriteKeepsFile() throws IOException {
+        AtomicFiles.write(FILE, Durability.NONE, out -> out.write("old".getBytes(StandardCharsets.UTF_8)));
+
+        assertThrows(IOException.class, () -> AtomicFiles.write(FILE, Durability.FILE, out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("Serialization failed");
+        }));
+
+        assertEquals("old", Files.readString(FILE));
+        assertEquals(List.of(FILE.getFileName()), files());
+    }
+
+    @Test
+    void writeThroughDanglingLink() throws IOException {
+        Path link = BASE.resolve("link.json");
+        Files.createDirectories(FILE.getParent());
+        Files.createSymbolicLink(link, Path.of("nested").resolve(FILE.getFileName()));
+
+        AtomicFiles.write(link, Durability.NONE, out -> out.write("linked".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals("linked", Files.readString(FILE));
+        assertEquals(List.of(FILE.getFileName()), files());
+    }
+
+    private List<Path> files() throws IOException {
+        try (var stream = Files.list(FILE.getParent())) {
+            return stream.map(Path::getFileName).toList();
+        }
+    }
+}
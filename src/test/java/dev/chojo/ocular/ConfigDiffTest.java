@@ -0,0 +1,57 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.ocular.hooks.ConfigChange;
+import dev.chojo.ocular.hooks.ConfigDiff;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+
+class ConfigDiffTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static ConfigDiff diff(String before, String after) {
+        return ConfigDiff.between(MAPPER.readTree(before), MAPPER.readTree(after));
+    }
+
+    @Test
+    void unchanged() {
+        Assertions.assertTrue(diff("{\"a\":{\"b\":1},\"c\":[1,2]}", "{\"a\":{\"b\":1},\"c\":[1,2]}").isEmpty());
+    }
+
+    @Test
+    void nestedChange() {
+        ConfigDiff diff = diff("{\"database\":{\"host\":\"a\",\"port\":1},\"name\":\"x\"}",
+                "{\"database\":{\"host\":\"b\",\"port\":1},\"name\":\"x\"}");
+        List<ConfigChange> changes = diff.changes();
+        Assertions.assertEquals(1, changes.size());
+        Assertions.assertEquals("/database/host", changes.get(0).path());
+        Assertions.assertEquals("a", changes.get(0).oldValue().asString());
+        Assertions.assertEquals("b", changes.get(0).newValue().asString());
+        Assertions.assertTrue(diff.changed("/database"));
+        Assertions.assertFalse(diff.changed("/name"));
+        Assertions.assertFalse(diff.changed("/data"));
+    }
+
+    @Test
+    void addedAndRemoved() {
+        ConfigDiff diff = diff("{\"a\":1}", "{\"b\":2}");
+        Assertions.assertEquals(2, diff.changes().size());
+        Assertions.assertTrue(diff.changes("/a").get(0).removed());
+        Assertions.assertTrue(diff.changes("/b").get(0).added());
+    }
+
+    @Test
+    void arrays() {
+        Assertions.assertEquals("/list/1", diff("{\"list\":[1,2]}", "{\"list\":[1,3]}").changes().get(0).path());
+        ConfigDiff resized = diff("{\"list\":[1,2]}", "{\"list\":[1,2,3]}");
+        Assertions.assertEquals("/list", resized.changes().get(0).path());
+        Assertions.assertTrue(resized.changed("/list/0"));
+    }
+}
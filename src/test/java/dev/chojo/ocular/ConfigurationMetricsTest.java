@@ -0,0 +1,69 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.metrics.ConfigurationMetrics;
+import dev.chojo.ocular.metrics.HistogramSnapshot;
+import dev.chojo.ocular.metrics.KeyMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationMetricsTest {
+    private static final Key<MyClass> KEY = Key.builder(Path.of("metrics.json"), MyClass::new).build();
+
+    @Test
+    void aggregatesPerKey() {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        metrics.onCacheMiss(KEY);
+        metrics.onRead(KEY, 1024, 1_000, 5_000);
+        metrics.onRead(KEY, 1024, 3_000, 7_000);
+        metrics.onCacheHit(KEY);
+        metrics.onCacheHit(KEY);
+        metrics.onWriteSkipped(KEY);
+        metrics.onReloadSkipped(KEY);
+
+        KeyMetrics snapshot = metrics.snapshot(KEY);
+        assertEquals(2048, snapshot.bytesRead());
+        assertEquals(2, snapshot.read().count());
+        assertEquals(2_000.0, snapshot.read().meanNanos());
+        assertEquals(7_000, snapshot.parse().maxNanos());
+        assertEquals(2, snapshot.cacheHits());
+        assertEquals(1, snapshot.cacheMisses());
+        assertEquals(1, snapshot.writesSkipped());
+        assertEquals(1, snapshot.reloadsSkipped());
+        assertEquals(0, snapshot.write().count());
+
+        metrics.reset();
+        assertNull(metrics.snapshot(KEY));
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+    @Test
+    void percentiles() {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        for (int i = 1; i <= 1000; i++) {
+            metrics.onWrite(KEY, i * 1_000L);
+        }
+        HistogramSnapshot write = metrics.snapshot(KEY).write();
+        assertEquals(1000, write.count());
+        assertEquals(1_000_000, write.maxNanos());
+        assertEquals(1_000_000, write.percentileNanos(1));
+        assertWithin(500_000, write.percentileNanos(0.5));
+        assertWithin(990_000, write.percentileNanos(0.99));
+        assertWithin(1_000, write.percentileNanos(0));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, "expected about " + expected + " but was " + actual);
+    }
+}
@@ -5,13 +5,21 @@
  */
 package dev.chojo.ocular;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import de.eldoria.jacksonbukkit.JacksonPaper;
 import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.components.MapperPool;
 import dev.chojo.ocular.dataformats.JsonDataFormat;
 import dev.chojo.ocular.dataformats.TomlDataFormat;
 import dev.chojo.ocular.dataformats.YamlDataFormat;
 import dev.chojo.ocular.exceptions.UnknownFormatException;
+import dev.chojo.ocular.hooks.ConfigDiff;
+import dev.chojo.ocular.hooks.ConfigSubscriber;
 import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.metrics.ConfigurationListener;
+import dev.chojo.ocular.metrics.ConfigurationMetrics;
+import dev.chojo.ocular.metrics.KeyMetrics;
+import dev.chojo.ocular.watch.ConfigWatcher;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,9 +27,28 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class ConfigurationsTest {
 
@@ -72,6 +99,43 @@ class ConfigurationsTest {
         Assertions.assertTrue(Files.exists(BASE.resolve(YAML.path())));
     }
 
+    @Test
+    void skipUnchangedSave() throws IOException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        conf.main();
+        Assertions.assertEquals(Set.of(), conf.saveIfChanged());
+        conf.main().age(21);
+        Assertions.assertTrue(conf.saveIfChanged(JSON));
+        Assertions.assertFalse(conf.saveIfChanged(JSON));
+        // Skipped writes leave no temporary files behind.
+        Assertions.assertEquals(List.of(JSON.path()), files());
+    }
+
+    @Test
+    void unchangedSaveCreatesNoFile() throws IOException, InterruptedException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        conf.main();
+        try (WatchService watch = BASE.getFileSystem().newWatchService()) {
+            BASE.register(watch, StandardWatchEventKinds.ENTRY_CREATE);
+            Assertions.assertFalse(conf.saveIfChanged(JSON));
+            // Events are reported in order, so every file created by the save is reported before the marker.
+            Path marker = Path.of("marker");
+            Files.createFile(BASE.resolve(marker));
+            List<Object> created = new ArrayList<>();
+            while (!created.contains(marker)) {
+                WatchKey key = watch.poll(5, TimeUnit.SECONDS);
+                Assertions.assertNotNull(key);
+                key.pollEvents().forEach(event -> created.add(event.context()));
+                key.reset();
+            }
+            Assertions.assertEquals(List.of(marker), created);
+        }
+    }
+
     @Test
     void checkReload() {
         Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
@@ -85,6 +149,123 @@ class ConfigurationsTest {
         Assertions.assertEquals(19, conf.secondary(YAML).age());
     }
 
+    @Test
+    void concurrentSecondary() throws InterruptedException, ExecutionException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        List<Callable<MyClass>> tasks = Collections.nCopies(16, () -> conf.secondary(YAML));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MyClass>> results = executor.invokeAll(tasks);
+            MyClass first = conf.secondary(YAML);
+            for (Future<MyClass> future : results) {
+                Assertions.assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void preloadAsync() throws InterruptedException, ExecutionException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .preload(YAML, YML)
+                                                     .preloadAsync()
+                                                     .get();
+        Assertions.assertTrue(conf.loaded(JSON));
+        Assertions.assertTrue(conf.loaded(YAML));
+        Assertions.assertTrue(conf.loaded(YML));
+        Assertions.assertTrue(Files.exists(BASE.resolve(YML.path())));
+    }
+
+    @Test
+    void recursiveSecondaryReturnsInitValue() {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        RecursiveConfig config = conf.secondary(RecursiveConfig.KEY);
+        Assertions.assertNotNull(config.duringLoad);
+        Assertions.assertNotSame(config, config.duringLoad);
+    }
+
+    @Test
+    void sameKeyFromHook() {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        ReentrantConfig config = conf.secondary(ReentrantConfig.KEY);
+        Assertions.assertFalse(config.refreshed);
+        // The reload holds the lock of the key while the hook accesses the same key again.
+        conf.forceReload(ReentrantConfig.KEY);
+        Assertions.assertTrue(conf.secondary(ReentrantConfig.KEY).refreshed);
+    }
+
+    @Test
+    void reloadOnlyChangedFiles() throws IOException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        conf.main();
+        conf.secondary(YAML);
+        Assertions.assertEquals(Set.of(), conf.reloadIfChanged());
+
+        // Same size as the initial content, so only the content hash can tell the difference.
+        Files.writeString(BASE.resolve(JSON.path()), "{\"name\":\"Lilly\",\"age\":33}");
+        Assertions.assertEquals(Set.of(JSON), conf.reloadIfChanged());
+        Assertions.assertEquals(33, conf.main().age());
+        Assertions.assertFalse(conf.reloadIfChanged(JSON));
+    }
+
+    @Test
+    void inPlaceReload() throws IOException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .withInPlaceReload(true)
+                                                     .build();
+        MyClass main = conf.main();
+        Files.writeString(BASE.resolve(JSON.path()), "{\"name\":\"Lilly\",\"age\":33}");
+        Assertions.assertTrue(conf.reloadIfChanged(JSON));
+        Assertions.assertSame(main, conf.main());
+        Assertions.assertEquals(33, main.age());
+    }
+
+    @Test
+    void changeListener() throws IOException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        List<ConfigDiff> diffs = new ArrayList<>();
+        conf.addChangeListener((key, diff) -> diffs.add(diff));
+        conf.main();
+        Files.writeString(BASE.resolve(JSON.path()), "{\"name\":\"Lilly\",\"age\":33}");
+        conf.reload();
+        conf.forceReload();
+        Assertions.assertEquals(1, diffs.size());
+        Assertions.assertTrue(diffs.get(0).changed("/age"));
+        Assertions.assertFalse(diffs.get(0).changed("/name"));
+    }
+
+    @Test
+    void watchReloadsChangedFiles() throws IOException, InterruptedException {
+        CountDownLatch reloaded = new CountDownLatch(1);
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .addConfigurationListener(reloadListener(reloaded))
+                                                     .build();
+        conf.main();
+        try (ConfigWatcher watcher = conf.watch(Duration.ofMillis(50))) {
+            Files.writeString(BASE.resolve(JSON.path()), "{\"name\":\"Lilly\",\"age\":44}");
+            Assertions.assertTrue(reloaded.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(44, conf.main().age());
+            Assertions.assertSame(watcher, conf.watch(Duration.ofMillis(50)));
+        }
+    }
+
     @Test
     void loadUnsupportedFormat() {
         Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
@@ -95,6 +276,168 @@ class ConfigurationsTest {
         Assertions.assertThrows(UnknownFormatException.class, () -> conf.secondary(TOML));
     }
 
+    @Test
+    void sharedMappers() {
+        MapperPool pool = new MapperPool();
+        Configurations<MyClass> first = Configurations.builder(JSON, new JsonDataFormat())
+                                                      .setBase(BASE)
+                                                      .withMapperPool(pool)
+                                                      .build();
+        first.main();
+        int mappers = pool.size();
+
+        Configurations<MyClass> second = Configurations.builder(JSON, new JsonDataFormat())
+                                                       .setBase(BASE)
+                                                       .withMapperPool(pool)
+                                                       .build();
+        second.forceReload();
+        Configurations<MyClass> child = Configurations.builder(YAML, new JsonDataFormat())
+                                                      .setBase(BASE)
+                                                      .parent(first)
+                                                      .build();
+        child.secondary(JSON);
+        Assertions.assertEquals(mappers, pool.size());
+        Assertions.assertSame(pool, child.mapperPool());
+    }
+
+    @Test
+    void sharedMappersByDefault() {
+        Configurations<MyClass> first = Configurations.builder(JSON, new JsonDataFormat())
+                                                      .setBase(BASE)
+                                                      .addModule(new JacksonPaper())
+                                                      .build();
+        first.main();
+        MapperPool pool = first.mapperPool();
+        int mappers = pool.size();
+
+        // Another instance of the same module is registered by Jackson only once, so the mappers are equal.
+        Configurations<MyClass> second = Configurations.builder(JSON, new JsonDataFormat())
+                                                       .setBase(BASE)
+                                                       .addModule(new JacksonPaper())
+                                                       .build();
+        second.main();
+        Assertions.assertSame(pool, second.mapperPool());
+        Assertions.assertEquals(mappers, pool.size());
+        Assertions.assertSame(MapperPool.shared(getClass().getClassLoader()), MapperPool.shared(getClass().getClassLoader()));
+        Assertions.assertNotSame(pool, MapperPool.shared(new ClassLoader() {
+        }));
+    }
+
+    @Test
+    void warmUp() throws InterruptedException, ExecutionException {
+        MapperPool pool = new MapperPool();
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .withMapperPool(pool)
+                                                     .build();
+        conf.warmUp(List.of(JSON, YAML)).get();
+
+        // Reader and writer of both formats are built without touching any file.
+        Assertions.assertEquals(4, pool.size());
+        Assertions.assertFalse(Files.exists(BASE.resolve(JSON.path())));
+        Assertions.assertFalse(conf.loaded(JSON));
+    }
+
+    @Test
+    void metrics() {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .addConfigurationListener(metrics)
+                                                     .build();
+        conf.main();
+        conf.main();
+        conf.save();
+        conf.reload();
+
+        KeyMetrics main = metrics.snapshot(JSON);
+        Assertions.assertEquals(1, main.cacheMisses());
+        Assertions.assertEquals(1, main.cacheHits());
+        Assertions.assertEquals(1, main.read().count());
+        Assertions.assertTrue(main.bytesRead() > 0);
+        Assertions.assertEquals(1, main.overrides().count());
+        // The file is written once on creation, the save is skipped.
+        Assertions.assertEquals(1, main.write().count());
+        Assertions.assertEquals(1, main.writesSkipped());
+        Assertions.assertEquals(1, main.reloadsSkipped());
+    }
+
+    @Test
+    void writeBehind() throws IOException {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .withWriteBehind(Duration.ofHours(1))
+                                                     .addConfigurationListener(metrics)
+                                                     .build();
+        conf.main();
+        for (int i = 0; i < 10; i++) {
+            try (var wrapped = conf.mainWrapped()) {
+                wrapped.config().age(i);
+            }
+        }
+        // Only the creation of the file was written so far.
+        Assertions.assertEquals(1, metrics.snapshot(JSON).write().count());
+        Assertions.assertFalse(Files.readString(BASE.resolve(JSON.path())).contains("9"));
+
+        conf.flush();
+        Assertions.assertEquals(2, metrics.snapshot(JSON).write().count());
+        Assertions.assertTrue(Files.readString(BASE.resolve(JSON.path())).contains("9"));
+        Assertions.assertTrue(conf.awaitSaved().isDone());
+    }
+
+    @Test
+    void watchIgnoresOwnWrites() throws IOException, InterruptedException {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .addConfigurationListener(metrics)
+                                                     .addConfigurationListener(reloadListener(reloaded))
+                                                     .build();
+        conf.main();
+        try (ConfigWatcher watcher = conf.watch(Duration.ofMillis(50))) {
+            conf.main().age(21);
+            Assertions.assertTrue(conf.saveIfChanged(JSON));
+            Assertions.assertTrue(conf.isUpToDate(JSON));
+            // The external change is reloaded after the own write, so the watcher has handled the events of both.
+            // It differs in size, since a same sized rewrite within the same modification time tick is not detected.
+            Files.writeString(BASE.resolve(JSON.path()), "{\"name\":\"Lilly\",\"age\":444}");
+            Assertions.assertTrue(reloaded.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(444, conf.main().age());
+            // The own write is neither reloaded nor read to check whether it changed.
+            Assertions.assertEquals(1, metrics.snapshot(JSON).reload().count());
+            Assertions.assertEquals(0, metrics.snapshot(JSON).reloadsSkipped());
+        }
+    }
+
+    @Test
+    void watchSkipsOtherFileSystems() throws IOException {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .setBase(BASE)
+                                                     .build();
+        try (FileSystem zip = FileSystems.newFileSystem(BASE.resolve("configs.zip"), Map.of("create", "true"));
+             ConfigWatcher watcher = conf.watch(Duration.ofMillis(50))) {
+            Assertions.assertDoesNotThrow(() -> watcher.track(JSON, zip.getPath("/main.json")));
+        }
+    }
+
+    @Test
+    void parentFormat() {
+        Configurations<MyClass> parent = Configurations.builder(JSON, new JsonDataFormat())
+                                                       .addFormat(new YamlDataFormat())
+                                                       .setBase(BASE)
+                                                       .build();
+        Configurations<MyClass> child = Configurations.builder(JSON, new JsonDataFormat())
+                                                      .setBase(BASE)
+                                                      .parent(parent)
+                                                      .build();
+
+        Assertions.assertEquals(20, child.secondary(YAML).age());
+        Assertions.assertThrows(UnknownFormatException.class, () -> child.secondary(TOML));
+    }
+
     @Test
     void exists() {
         Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
@@ -138,6 +481,46 @@ class ConfigurationsTest {
         Assertions.assertTrue(Files.exists(BASE.resolve(YML.path())));
     }
 
+    @Test
+    void asyncAccess() throws Exception {
+        AtomicInteger tasks = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .withExecutor(task -> {
+                                                         tasks.incrementAndGet();
+                                                         executor.execute(task);
+                                                     })
+                                                     .build();
+        MyClass yaml = conf.secondaryAsync(YAML).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(1, tasks.get());
+        // Loaded configurations are returned without switching threads.
+        Assertions.assertSame(yaml, conf.secondaryAsync(YAML).getNow(null));
+        Assertions.assertEquals(1, tasks.get());
+
+        yaml.age(19);
+        Assertions.assertTrue(conf.saveAsync(YAML).get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Set.of(), conf.reloadAsync().get(5, TimeUnit.SECONDS));
+        conf.migrateAsync(YAML, YML).get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(19, conf.secondary(YML).age());
+        Assertions.assertEquals(4, tasks.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void migrateAsyncWithWriteBehind() throws Exception {
+        Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat())
+                                                     .addFormat(new YamlDataFormat())
+                                                     .setBase(BASE)
+                                                     .withWriteBehind(Duration.ofMillis(50))
+                                                     .build();
+        conf.secondary(YAML).age(19);
+        conf.migrateAsync(YAML, YML).get(5, TimeUnit.SECONDS);
+        // The future completes with the scheduled write, not when it is scheduled.
+        Assertions.assertTrue(Files.readString(BASE.resolve(YML.path())).contains("19"));
+    }
+
     @Test
     void checkPrettyJsonFormat() throws IOException {
         Configurations<MyClass> conf = Configurations.builder(JSON, new JsonDataFormat(true))
@@ -197,4 +580,43 @@ class ConfigurationsTest {
                       .addModule(new JacksonPaper())
                       .build();
     }
+
+    private static List<Path> files() throws IOException {
+        try (var stream = Files.list(BASE)) {
+            return stream.map(Path::getFileName).toList();
+        }
+    }
+
+    private static ConfigurationListener reloadListener(CountDownLatch reloaded) {
+        return new ConfigurationListener() {
+            @Override
+            public void onReload(Key<?> key, long nanos) {
+                reloaded.countDown();
+            }
+        };
+    }
+
+    public static class ReentrantConfig implements ConfigSubscriber {
+        static final Key<ReentrantConfig> KEY = Key.builder(Path.of("reentrant.json"), ReentrantConfig::new).build();
+        @JsonIgnore
+        boolean refreshed;
+        String name = "reentrant";
+
+        @Override
+        public void postRead(Configurations<?> config) {
+            refreshed = config.refreshOverrides(KEY);
+        }
+    }
+
+    public static class RecursiveConfig implements ConfigSubscriber {
+        static final Key<RecursiveConfig> KEY = Key.builder(Path.of("recursive.json"), RecursiveConfig::new).build();
+        @JsonIgnore
+        RecursiveConfig duringLoad;
+        String name = "recursive";
+
+        @Override
+        public void postRead(Configurations<?> config) {
+            duringLoad = config.secondary(KEY);
+        }
+    }
 }
@@ -0,0 +1,42 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.ocular.io.ContentHash;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentHashTest {
+    private static final byte[] CONTENT = "{\"name\":\"Lilly\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void streamedHashMatchesContentHash() throws IOException {
+        byte[] streamed = ContentHash.of(out -> out.write(CONTENT));
+        assertTrue(ContentHash.equals(ContentHash.of(CONTENT), streamed));
+    }
+
+    @Test
+    void differentContent() {
+        assertFalse(ContentHash.equals(ContentHash.of(CONTENT), ContentHash.of(new byte[0])));
+        assertFalse(ContentHash.equals(ContentHash.of(CONTENT), null));
+    }
+
+    @Test
+    void hashingWriterHashesWrittenContent() throws IOException {
+        ContentHash.HashingWriter writer = ContentHash.hashing(out -> out.write(CONTENT));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out);
+        assertArrayEquals(CONTENT, out.toByteArray());
+        assertTrue(ContentHash.equals(ContentHash.of(CONTENT), writer.hash()));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.ocular.override.DirectOverride;
+import dev.chojo.ocular.override.OverrideConverters;
+import dev.chojo.ocular.override.OverrideSuppliers;
+import dev.chojo.ocular.override.ValueSupplier;
+import dev.chojo.ocular.processor.OcularProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiles a fixture with {@value OcularProcessor#DIRECT_APPLY} enabled into its own directory. All other tests use
+ * the reflective application.
+ */
+class DirectOverrideTest {
+    private static final Path BASE = Path.of("direct_override_test");
+    private static final String FIXTURE = """
+            package fixture;
+
+            import dev.chojo.ocular.override.Overwrite;
+            import dev.chojo.ocular.override.Prop;
+
+            public class DirectConfig {
+                @Overwrite(prop = @Prop("direct.name"))
+                public String name = "default";
+                @Overwrite(prop = @Prop("direct.port"))
+                public int port = 1;
+            }
+            """;
+
+    private URLClassLoader loader;
+    private Class<?> type;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(BASE);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///fixture/DirectConfig.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return FIXTURE;
+            }
+        };
+        List<String> options = List.of("-d", BASE.toString(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-A" + OcularProcessor.DIRECT_APPLY + "=true");
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, List.of(source));
+        task.setProcessors(List.of(new OcularProcessor()));
+        assertTrue(task.call());
+
+        loader = new URLClassLoader(new URL[]{BASE.toUri().toURL()}, getClass().getClassLoader());
+        type = loader.loadClass("fixture.DirectConfig");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.clearProperty("direct.name");
+        System.clearProperty("direct.port");
+        if (loader != null) loader.close();
+        if (Files.exists(BASE)) {
+            try (var walker = Files.walk(BASE)) {
+                walker.map(Path::toFile)
+                      .sorted(Comparator.reverseOrder())
+                      .forEachOrdered(File::delete);
+            }
+        }
+    }
+
+    @Test
+    void directSupplierGenerated() throws Exception {
+        System.setProperty("direct.name", "direct");
+        System.setProperty("direct.port", "8080");
+        OverrideSuppliers suppliers = new OverrideSuppliers(loader);
+        ValueSupplier supplier = suppliers.supplier(type).orElseThrow();
+        assertTrue(supplier instanceof DirectOverride<?>);
+
+        Object config = type.getConstructor().newInstance();
+        suppliers.applyOverrides(config, type);
+        assertEquals("direct", type.getField("name").get(config));
+        assertEquals(8080, type.getField("port").get(config));
+    }
+
+    @Test
+    void customConvertersAreHonored() throws Exception {
+        System.setProperty("direct.port", "8080");
+        OverrideConverters converters = OverrideConverters.defaults().register(int.class, value -> Integer.parseInt(value) * 2);
+        OverrideSuppliers suppliers = new OverrideSuppliers(loader, converters);
+
+        Object config = type.getConstructor().newInstance();
+        suppliers.applyOverrides(config, type);
+        assertEquals(16160, type.getField("port").get(config));
+        assertEquals("default", type.getField("name").get(config));
+    }
+
+    @Test
+    void fallsBackOnInvalidValues() throws Exception {
+        System.setProperty("direct.port", "invalid");
+        OverrideSuppliers suppliers = new OverrideSuppliers(loader);
+
+        Object config = type.getConstructor().newInstance();
+        suppliers.applyOverrides(config, type);
+        assertEquals(1, type.getField("port").get(config));
+        assertEquals("default", type.getField("name").get(config));
+    }
+
+    @Test
+    void guessedWithoutOwnIndex() throws Exception {
+        // The test classes have an index, which must not hide classes of a location without one.
+        Files.delete(BASE.resolve(OverrideSuppliers.INDEX));
+        System.setProperty("direct.name", "guessed");
+        OverrideSuppliers suppliers = new OverrideSuppliers(loader);
+
+        Object config = type.getConstructor().newInstance();
+        suppliers.applyOverrides(config, type);
+        assertEquals("guessed", type.getField("name").get(config));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.components.Format;
+import dev.chojo.ocular.components.FormatIndex;
+import dev.chojo.ocular.dataformats.JsonDataFormat;
+import dev.chojo.ocular.dataformats.YamlDataFormat;
+import dev.chojo.ocular.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FormatIndexTest {
+    private final Format<?, ?> json = new Format<>(new JsonDataFormat(), null);
+    private final Format<?, ?> yaml = new Format<>(new YamlDataFormat(), null);
+    private final Format<?, ?> compressed = new Format<>(new JsonDataFormat() {
+        @Override
+        public String type() {
+            return ".json.gz";
+        }
+    }, null);
+    private final FormatIndex index = new FormatIndex(List.of(json, yaml, compressed));
+
+    private static Key<MyClass> key(String path) {
+        return Key.builder(Path.of(path), MyClass::new).build();
+    }
+
+    @Test
+    void typeAndAlias() {
+        assertSame(json, index.find(key("config.json")));
+        assertSame(yaml, index.find(key("config.yaml")));
+        assertSame(yaml, index.find(key("nested/dir/config.YML")));
+    }
+
+    @Test
+    void compoundExtension() {
+        assertSame(compressed, index.find(key("config.json.gz")));
+        assertSame(json, index.find(key("config.backup.json")));
+    }
+
+    @Test
+    void unknownExtension() {
+        assertNull(index.find(key("config.toml")));
+        assertNull(index.find(key("config")));
+    }
+
+    @Test
+    void customMatcher() {
+        Format<?, ?> custom = new Format<>(new JsonDataFormat() {
+            @Override
+            public boolean matches(Key<?> key) {
+                return key.path().startsWith("json");
+            }
+        }, null);
+        FormatIndex customIndex = new FormatIndex(List.of(json, custom));
+        assertSame(custom, customIndex.find(key("json/config.yaml")));
+        assertSame(json, customIndex.find(key("config.json")));
+    }
+}
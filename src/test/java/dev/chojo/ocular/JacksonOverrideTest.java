@@ -5,8 +5,10 @@
  */
 package dev.chojo.ocular;
 
+import dev.chojo.classes.EndpointConfig;
 import dev.chojo.classes.JacksonOverrideConfig;
 import dev.chojo.ocular.dataformats.JsonDataFormat;
+import dev.chojo.ocular.dataformats.TomlDataFormat;
 import dev.chojo.ocular.key.Key;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,6 +46,7 @@ class JacksonOverrideTest {
         System.clearProperty("config.host");
         System.clearProperty("config.port");
         System.clearProperty("config.greeting");
+        System.clearProperty("endpoint.target");
 
         if (Files.exists(BASE)) {
             try (var walker = Files.walk(BASE)) {
@@ -129,6 +132,17 @@ class JacksonOverrideTest {
         assertEquals("hello", config.greeting());
     }
 
+    @Test
+    void jsonObjectWithOtherMainFormat() {
+        System.setProperty("endpoint.target", "{\"host\": \"example.com\", \"port\": 443}");
+        Key<EndpointConfig> key = Key.builder(Path.of("endpoint.toml"), EndpointConfig::new).build();
+        Configurations<EndpointConfig> conf = Configurations.builder(key, new TomlDataFormat())
+                                                            .setBase(BASE)
+                                                            .build();
+
+        assertEquals(new EndpointConfig.Endpoint("example.com", 443), conf.main().target);
+    }
+
     private JacksonOverrideConfig loadViaConfigurations() {
         Configurations<JacksonOverrideConfig> conf = Configurations.builder(CONFIG_KEY, new JsonDataFormat())
                                                                    .setBase(BASE)
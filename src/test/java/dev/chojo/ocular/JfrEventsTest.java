@@ -0,0 +1,89 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.dataformats.JsonDataFormat;
+import dev.chojo.ocular.key.Key;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JfrEventsTest {
+    private static final Path BASE = Path.of("jfr_test_config");
+    private static final Key<MyClass> KEY = Key.builder(Path.of("main.json"), () -> new MyClass("Lilly", 20)).build();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(BASE);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (Files.exists(BASE)) {
+            try (var walker = Files.walk(BASE)) {
+                walker.map(Path::toFile)
+                      .sorted(Comparator.reverseOrder())
+                      .forEachOrdered(File::delete);
+            }
+        }
+    }
+
+    @Test
+    void fileEventsDescribeTheFile() throws IOException {
+        Path dump = BASE.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("dev.chojo.ocular.ConfigLoad");
+            recording.enable("dev.chojo.ocular.ConfigSave");
+            recording.enable("dev.chojo.ocular.ConfigReload");
+            recording.enable("dev.chojo.ocular.OverrideApply");
+            recording.start();
+
+            Configurations<MyClass> conf = Configurations.builder(KEY, new JsonDataFormat())
+                                                         .setBase(BASE.resolve("configs"))
+                                                         .build();
+            conf.main().age(21);
+            conf.saveIfChanged(KEY);
+            conf.saveIfChanged(KEY);
+            conf.forceReload(KEY);
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        String path = BASE.resolve("configs").resolve(KEY.path()).toString();
+        for (String type : List.of("dev.chojo.ocular.ConfigLoad", "dev.chojo.ocular.ConfigSave", "dev.chojo.ocular.ConfigReload",
+                "dev.chojo.ocular.OverrideApply")) {
+            List<RecordedEvent> ofType = events.stream().filter(event -> event.getEventType().getName().equals(type)).toList();
+            assertFalse(ofType.isEmpty(), type);
+            for (RecordedEvent event : ofType) {
+                assertEquals(KEY.name(), event.getString("key"));
+                assertEquals(path, event.getString("path"));
+                assertEquals("json", event.getString("format"));
+            }
+        }
+        List<RecordedEvent> saves = events.stream()
+                                          .filter(event -> event.getEventType().getName().equals("dev.chojo.ocular.ConfigSave"))
+                                          .toList();
+        assertTrue(saves.stream().anyMatch(event -> !event.getBoolean("skipped")));
+        assertTrue(saves.stream().anyMatch(event -> event.getBoolean("skipped")));
+    }
+}
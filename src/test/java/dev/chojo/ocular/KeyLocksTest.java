@@ -0,0 +1,109 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.exceptions.ParallelAccessException;
+import dev.chojo.ocular.key.Key;
+import dev.chojo.ocular.locks.KeyLock;
+import dev.chojo.ocular.locks.KeyLocks;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyLocksTest {
+    private static final Key<MyClass> FIRST = Key.builder(Path.of("first.json"), MyClass::new).build();
+    private static final Key<MyClass> SECOND = Key.builder(Path.of("second.json"), MyClass::new).build();
+
+    @Test
+    void recursiveLockIsReentrant() {
+        KeyLocks locks = new KeyLocks();
+        try (KeyLock lock = locks.lock(FIRST)) {
+            assertTrue(locks.isHeldByCurrentThread(FIRST));
+            assertNull(locks.tryLock(FIRST));
+            try (KeyLock nested = locks.lock(FIRST)) {
+                assertTrue(locks.isHeldByCurrentThread(FIRST));
+            }
+            assertTrue(locks.isHeldByCurrentThread(FIRST));
+        }
+        assertFalse(locks.isHeldByCurrentThread(FIRST));
+    }
+
+    @Test
+    void cyclicWaitIsDetected() throws Exception {
+        KeyLocks locks = new KeyLocks();
+        CountDownLatch bothLocked = new CountDownLatch(2);
+        Callable<Boolean> first = () -> crossLock(locks, FIRST, SECOND, bothLocked);
+        Callable<Boolean> second = () -> crossLock(locks, SECOND, FIRST, bothLocked);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> firstResult = executor.submit(first);
+            Future<Boolean> secondResult = executor.submit(second);
+            // At least one thread fails instead of both waiting forever. The other one gets its key afterward.
+            boolean firstLocked = firstResult.get(5, TimeUnit.SECONDS);
+            boolean secondLocked = secondResult.get(5, TimeUnit.SECONDS);
+            assertFalse(firstLocked && secondLocked);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(locks.isHeldByCurrentThread(FIRST));
+    }
+
+    private static boolean crossLock(KeyLocks locks, Key<?> held, Key<?> wanted, CountDownLatch bothLocked) throws InterruptedException {
+        try (KeyLock lock = locks.lock(held)) {
+            bothLocked.countDown();
+            bothLocked.await(5, TimeUnit.SECONDS);
+            try (KeyLock other = locks.lock(wanted)) {
+                return true;
+            } catch (ParallelAccessException e) {
+                return false;
+            }
+        }
+    }
+
+    @Test
+    void differentKeysDoNotBlock() throws Exception {
+        KeyLocks locks = new KeyLocks();
+        try (KeyLock lock = locks.lock(FIRST)) {
+            boolean locked = CompletableFuture.supplyAsync(() -> {
+                KeyLock other = locks.tryLock(SECOND);
+                if (other == null) return false;
+                other.close();
+                return true;
+            }).get(5, TimeUnit.SECONDS);
+            assertTrue(locked);
+        }
+    }
+
+    @Test
+    void sameKeyWaitsForRelease() throws Exception {
+        KeyLocks locks = new KeyLocks();
+        CountDownLatch acquired = new CountDownLatch(1);
+        CompletableFuture<Void> waiting;
+        try (KeyLock lock = locks.lock(FIRST)) {
+            assertNull(CompletableFuture.supplyAsync(() -> locks.tryLock(FIRST)).get(5, TimeUnit.SECONDS));
+            waiting = CompletableFuture.runAsync(() -> {
+                try (KeyLock other = locks.lock(FIRST)) {
+                    acquired.countDown();
+                }
+            });
+            assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        }
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        waiting.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.ocular.override.OverrideConverter;
+import dev.chojo.ocular.override.OverrideConverters;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OverrideConvertersTest {
+
+    private static Object convert(OverrideConverters converters, String field, String value) throws NoSuchFieldException {
+        Field target = Target.class.getDeclaredField(field);
+        return converters.forType(target.getType(), target.getGenericType()).convert(value);
+    }
+
+    private static Object convert(String field, String value) throws NoSuchFieldException {
+        return convert(OverrideConverters.defaults(), field, value);
+    }
+
+    @Test
+    void durations() throws NoSuchFieldException {
+        assertEquals(Duration.ofSeconds(30), convert("timeout", "PT30S"));
+        assertEquals(Duration.ofSeconds(30), convert("timeout", "30s"));
+        assertEquals(Duration.ofMillis(250), convert("timeout", "250ms"));
+        assertEquals(Duration.ofHours(2), convert("timeout", "2h"));
+        assertThrows(IllegalArgumentException.class, () -> convert("timeout", "30"));
+    }
+
+    @Test
+    void enums() throws NoSuchFieldException {
+        assertEquals(Mode.FAST, convert("mode", "fast"));
+        assertThrows(IllegalArgumentException.class, () -> convert("mode", "medium"));
+    }
+
+    @Test
+    void simpleTypes() throws NoSuchFieldException {
+        assertEquals(Path.of("data", "config"), convert("path", "data/config"));
+        assertEquals(URI.create("https://example.com"), convert("uri", "https://example.com"));
+        assertEquals(new BigDecimal("1.50"), convert("amount", "1.50"));
+    }
+
+    @Test
+    void collections() throws NoSuchFieldException {
+        assertEquals(Map.of("a", 1, "b", 2), convert("limits", "a=1, b=2"));
+        assertArrayEquals(new long[]{1, 2, 3}, (long[]) convert("ids", "1, 2, 3"));
+        assertEquals(List.of(Mode.SLOW, Mode.FAST), convert("modes", "slow,FAST"));
+    }
+
+    @Test
+    void unsupportedWithoutFallback() {
+        assertNull(OverrideConverters.defaults().forType(Target.class, Target.class));
+    }
+
+    @Test
+    void customConverter() throws NoSuchFieldException {
+        OverrideConverter<Duration> minutes = value -> Duration.ofMinutes(Long.parseLong(value));
+        OverrideConverters converters = OverrideConverters.defaults().register(Duration.class, minutes);
+        assertEquals(Duration.ofMinutes(5), convert(converters, "timeout", "5"));
+        // Converters are resolved once per type.
+        assertSame(converters.forType(Duration.class, Duration.class), converters.forType(Duration.class, Duration.class));
+    }
+
+    enum Mode {
+        SLOW, FAST
+    }
+
+    static class Target {
+        Duration timeout;
+        Mode mode;
+        Path path;
+        URI uri;
+        BigDecimal amount;
+        Map<String, Integer> limits;
+        long[] ids;
+        List<Mode> modes;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.NestedConfig;
+import dev.chojo.ocular.override.OverrideConverters;
+import dev.chojo.ocular.override.OverrideSource;
+import dev.chojo.ocular.override.OverrideSuppliers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OverrideSourceTest {
+
+    private final Path dir = Path.of("override_source_test");
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(dir);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (var walker = Files.walk(dir)) {
+            walker.map(Path::toFile)
+                  .sorted(Comparator.reverseOrder())
+                  .forEachOrdered(File::delete);
+        }
+    }
+
+    @Test
+    void dotEnv() throws IOException {
+        Path file = dir.resolve(".env");
+        Files.writeString(file, """
+                # database
+                DB_HOST=localhost
+                export DB_PORT = 5432
+                DB_USER="admin user" # quoted
+                DB_PASS='se#cret'
+                DB_NAME=ocular # comment
+                """);
+        OverrideSource source = OverrideSource.dotEnv(file);
+
+        assertEquals("localhost", source.env("DB_HOST"));
+        assertEquals("5432", source.env("DB_PORT"));
+        assertEquals("admin user", source.env("DB_USER"));
+        assertEquals("se#cret", source.env("DB_PASS"));
+        assertEquals("ocular", source.env("DB_NAME"));
+        assertNull(source.env("MISSING"));
+        assertNull(source.property("DB_HOST"));
+    }
+
+    @Test
+    void dotEnvReadAgainWhenModified() throws IOException {
+        Path file = dir.resolve(".env");
+        OverrideSource source = OverrideSource.dotEnv(file, Duration.ZERO);
+        assertNull(source.env("VALUE"));
+
+        Files.writeString(file, "VALUE=first");
+        assertEquals("first", source.env("VALUE"));
+
+        Files.writeString(file, "VALUE=second");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        assertEquals("second", source.env("VALUE"));
+    }
+
+    @Test
+    void dotEnvSameSizeRewrite() throws IOException {
+        Path file = dir.resolve(".env");
+        Files.writeString(file, "VALUE=first");
+        OverrideSource source = OverrideSource.dotEnv(file, Duration.ZERO);
+        assertEquals("first", source.env("VALUE"));
+
+        // Same size and modification time, as a rewrite within the timestamp resolution would leave it.
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "VALUE=other");
+        Files.setLastModifiedTime(file, modified);
+        assertEquals("other", source.env("VALUE"));
+    }
+
+    @Test
+    void dotEnvCheckedOncePerInterval() throws IOException {
+        Path file = dir.resolve(".env");
+        Files.writeString(file, "VALUE=first");
+        OverrideSource source = OverrideSource.dotEnv(file, Duration.ofHours(1));
+        assertEquals("first", source.env("VALUE"));
+
+        Files.writeString(file, "VALUE=second");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        assertEquals("first", source.env("VALUE"));
+    }
+
+    @Test
+    void secrets() throws IOException {
+        Files.writeString(dir.resolve("DB_PASSWORD"), "hunter2\n");
+        OverrideSource source = OverrideSource.secrets(dir);
+
+        assertEquals("hunter2", source.env("DB_PASSWORD"));
+        assertEquals("hunter2", source.property("DB_PASSWORD"));
+        assertNull(source.env("DB_USER"));
+        assertNull(source.env("../DB_PASSWORD"));
+
+        Files.writeString(dir.resolve("DB_PASSWORD"), "correct horse");
+        Files.setLastModifiedTime(dir.resolve("DB_PASSWORD"), FileTime.from(Instant.now().plusSeconds(10)));
+        assertEquals("correct horse", source.env("DB_PASSWORD"));
+
+        Files.delete(dir.resolve("DB_PASSWORD"));
+        assertNull(source.env("DB_PASSWORD"));
+    }
+
+    @Test
+    void secretsSameSizeRewrite() throws IOException {
+        Path secret = dir.resolve("TOKEN");
+        Files.writeString(secret, "aaaa");
+        OverrideSource source = OverrideSource.secrets(dir);
+        assertEquals("aaaa", source.env("TOKEN"));
+
+        FileTime modified = Files.getLastModifiedTime(secret);
+        Files.writeString(secret, "bbbb");
+        Files.setLastModifiedTime(secret, modified);
+        assertEquals("bbbb", source.env("TOKEN"));
+    }
+
+    @Test
+    void chainPrecedence() throws IOException {
+        Files.writeString(dir.resolve(".env"), "A=env-file\nB=env-file");
+        Files.writeString(dir.resolve("B"), "secret");
+        Files.writeString(dir.resolve("C"), "secret");
+        OverrideSource source = OverrideSource.chain(List.of(OverrideSource.dotEnv(dir.resolve(".env")), OverrideSource.secrets(dir)));
+
+        assertEquals("env-file", source.env("A"));
+        assertEquals("env-file", source.env("B"));
+        assertEquals("secret", source.env("C"));
+        assertEquals("secret", source.property("C"));
+    }
+
+    @Test
+    void suppliersReadFromSource() throws IOException {
+        Files.writeString(dir.resolve("nested.pool.max"), "17");
+        OverrideSuppliers suppliers = new OverrideSuppliers(getClass().getClassLoader(), OverrideConverters.defaults(),
+                OverrideSource.system().or(OverrideSource.secrets(dir)));
+        NestedConfig config = new NestedConfig();
+        suppliers.applyOverrides(config, NestedConfig.class);
+
+        assertEquals(17, config.database.pool.maxSize);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.AnnotationConfig;
+import dev.chojo.classes.AnnotationConfig_OcularOverride;
+import dev.chojo.classes.MyClass;
+import dev.chojo.classes.NestedConfig;
+import dev.chojo.ocular.override.OverrideSuppliers;
+import dev.chojo.ocular.override.ValueSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverrideSuppliersTest {
+
+    @Test
+    void indexContainsGeneratedClasses() {
+        assertTrue(getClass().getClassLoader().getResource(OverrideSuppliers.INDEX) != null);
+    }
+
+    @Test
+    void supplierFromIndex() {
+        OverrideSuppliers suppliers = new OverrideSuppliers(getClass().getClassLoader());
+        assertEquals(AnnotationConfig_OcularOverride.class, suppliers.supplier(AnnotationConfig.class).orElseThrow().getClass());
+    }
+
+    @Test
+    void noSupplierWithoutOverrides() {
+        OverrideSuppliers suppliers = new OverrideSuppliers(getClass().getClassLoader());
+        assertTrue(suppliers.supplier(MyClass.class).isEmpty());
+    }
+
+    @Test
+    void nestedOverrides() {
+        System.setProperty("nested.pool.max", "42");
+        try {
+            NestedConfig config = new NestedConfig();
+            // Cyclic references must not be followed endlessly.
+            config.database.parent = config.database;
+            new OverrideSuppliers(getClass().getClassLoader()).applyOverrides(config, NestedConfig.class);
+
+            assertEquals(42, config.database.pool.maxSize);
+            assertEquals(42, config.pools.get(0).maxSize);
+            assertEquals(42, config.pools.get(1).maxSize);
+            assertEquals(42, config.namedPools.get("main").maxSize);
+            assertEquals(42, config.settings.pool().maxSize);
+        } finally {
+            System.clearProperty("nested.pool.max");
+        }
+    }
+
+    @Test
+    void customSuppliers() {
+        NestedConfig config = new NestedConfig();
+        OverrideSuppliers suppliers = new OverrideSuppliers(getClass().getClassLoader());
+        ValueSupplier values = name -> name.equals("maxSize") ? Optional.of("7") : Optional.empty();
+        suppliers.applyOverrides(config, NestedConfig.class,
+                clazz -> clazz == NestedConfig.Pool.class ? Optional.of(values) : Optional.empty());
+
+        assertEquals(7, config.database.pool.maxSize);
+        assertEquals(7, config.namedPools.get("main").maxSize);
+    }
+}
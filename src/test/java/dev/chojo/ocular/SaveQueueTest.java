@@ -0,0 +1,151 @@
+/*
+ *     SPDX-License-Identifier: LGPL-3.0-or-later
+ *
+ *     Copyright (C) RainbowDashLabs and Contributor
+ */
+package dev.chojo.ocular;
+
+import dev.chojo.classes.MyClass;
+import dev.chojo.ocular.exceptions.ConfigurationException;
+import dev.chojo.ocular.io.SaveQueue;
+import dev.chojo.ocular.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaveQueueTest {
+    private static final Key<MyClass> FIRST = Key.builder(Path.of("first.json"), MyClass::new).build();
+    private static final Key<MyClass> SECOND = Key.builder(Path.of("second.json"), MyClass::new).build();
+
+    @Test
+    void coalescesBurst() throws Exception {
+        Map<Key<?>, AtomicInteger> writes = new ConcurrentHashMap<>();
+        SaveQueue queue = new SaveQueue(Duration.ofMillis(100), Runnable::run, key -> {
+            writes.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return true;
+        });
+        CompletableFuture<Boolean> first = queue.schedule(FIRST);
+        for (int i = 0; i < 100; i++) {
+            queue.schedule(FIRST);
+        }
+        queue.schedule(SECOND);
+        assertEquals(2, queue.size());
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        queue.awaitSaved().get(5, TimeUnit.SECONDS);
+        assertEquals(1, writes.get(FIRST).get());
+        assertEquals(1, writes.get(SECOND).get());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void flushWritesImmediately() {
+        AtomicInteger writes = new AtomicInteger();
+        SaveQueue queue = new SaveQueue(Duration.ofHours(1), Runnable::run, key -> {
+            writes.incrementAndGet();
+            return true;
+        });
+        CompletableFuture<Boolean> scheduled = queue.schedule(FIRST);
+        queue.schedule(FIRST);
+        queue.flush();
+
+        assertEquals(1, writes.get());
+        assertTrue(scheduled.isDone());
+        assertTrue(queue.awaitSaved().isDone());
+        // Nothing is left to write.
+        queue.flush();
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void saveWhileWriting() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger overlapping = new AtomicInteger();
+        SaveQueue queue = new SaveQueue(Duration.ofMillis(10), Executors.newCachedThreadPool(), key -> {
+            if (active.incrementAndGet() > 1) overlapping.incrementAndGet();
+            if (writes.incrementAndGet() == 1) {
+                writing.countDown();
+                await(release);
+            }
+            active.decrementAndGet();
+            return true;
+        });
+        queue.schedule(FIRST);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        // The running write might have serialized the old state already, so a new write is scheduled.
+        CompletableFuture<Boolean> second = queue.schedule(FIRST);
+        // The window passed, but the second write waits for the running one.
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+        release.countDown();
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(2, writes.get());
+        assertEquals(0, overlapping.get());
+    }
+
+    @Test
+    void flushWaitsForRunningWrite() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger overlapping = new AtomicInteger();
+        SaveQueue queue = new SaveQueue(Duration.ofHours(1), Runnable::run, key -> {
+            if (active.incrementAndGet() > 1) overlapping.incrementAndGet();
+            if (writes.incrementAndGet() == 1) {
+                writing.countDown();
+                await(release);
+            }
+            active.decrementAndGet();
+            return true;
+        });
+        queue.schedule(FIRST);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(queue::flush);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> scheduled = queue.schedule(FIRST);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(queue::flush);
+        // The second flush must not write while the first write is still running.
+        Thread.sleep(100);
+        assertEquals(1, writes.get());
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(scheduled.isDone());
+        assertEquals(2, writes.get());
+        assertEquals(0, overlapping.get());
+    }
+
+    @Test
+    void flushPropagatesErrors() {
+        SaveQueue queue = new SaveQueue(Duration.ofHours(1), Runnable::run, key -> {
+            throw new ConfigurationException("Could not write", null);
+        });
+        CompletableFuture<Boolean> scheduled = queue.schedule(FIRST);
+        assertThrows(ConfigurationException.class, queue::flush);
+        assertTrue(scheduled.isCompletedExceptionally());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}